@@ -8,6 +8,9 @@ import java.util.ArrayList; //import arraylist
  * 
  * Also have resources to exploit
  * 
+ * Asteroids are recycled through the world's asteroid pool, so they are reset
+ * rather than constructed each time one spawns
+ * 
  * @author Gaven Ma
  * @version 1.0
  */
@@ -26,6 +29,13 @@ public class Asteroid extends CelestialBody {
 	private int radiusOfCollision; // The radius of impact of the asteroid. (If
 									// planets go in this range, then the two
 									// will collide)
+	private int lastX, lastY; // where the asteroid was at its last act, so
+								// that collisions are checked along the whole
+								// path moved since
+	private boolean placed = false; // whether lastX and lastY are set yet
+	private static final GreenfootImage IMG = new GreenfootImage(
+			"images/asteroid1.png"); // image shared by every asteroid, loaded
+										// once
 
 	/**
 	 * The constructor of the asteriod. Initializes the explode power.
@@ -39,11 +49,7 @@ public class Asteroid extends CelestialBody {
 	 *            two will collide)
 	 */
 	public Asteroid(double explodePower, double mass, int radius) {
-		this.explodePower = explodePower; // set the explode pwoer
-		this.mass = mass; // set the mass of the asteroid
-		this.resource = 0;
-		this.radiusOfCollision = radius;
-		setImage(new GreenfootImage("images/asteroid1.png"));
+		this(explodePower, 0, mass, radius);
 	}
 
 	/**
@@ -62,11 +68,35 @@ public class Asteroid extends CelestialBody {
 	 */
 	public Asteroid(double explodePower, double resource, double mass,
 			int radius) {
+		reset(explodePower, resource, mass, radius);
+		setFreeFall(true); // asteroids fly freely under gravity
+		setImage(IMG);
+	}
+
+	/**
+	 * Readies an asteroid that is out of the world to be spawned again, as if
+	 * it was newly constructed. It is left at rest until its velocity is set.
+	 * 
+	 * @param explodePower
+	 *            The destruction power an asteroid releases when explodes
+	 * @param resource
+	 *            The initialresource of the asteroid
+	 * @param mass
+	 *            The mass of the asteroid
+	 * @param radius
+	 *            The radius of collision(If planets go in this range, then the
+	 *            two will collide)
+	 */
+	public void reset(double explodePower, double resource, double mass,
+			int radius) {
 		this.explodePower = explodePower; // set the explode pwoer
 		this.mass = mass; // set the mass of the asteroid
 		this.resource = resource; // set the resource
 		this.radiusOfCollision = radius;
-		setImage(new GreenfootImage("asteroid1.png"));
+		this.attackPower = 0;
+		firstTurn = true; // a new direction is needed
+		placed = false; // nothing has been swept through yet
+		setVelocity(new Vector()); // forget the velocity of its last life
 	}
 
 	/**
@@ -89,15 +119,15 @@ public class Asteroid extends CelestialBody {
 		 * 5 acts 2 units counter = 0; // reset the counter }
 		 */
 		checkCollision(); // to check if the asteroid crashed any celestial
-		// body and react to them
-		checkRemove(); // to check if the asteroid has disappeared in this world
+		// body and react to them, or has disappeared in this world
 	}
 
 	private void checkRemove() {
 		// TODO
 		if (getWorld() != null) {
 			if (getX() < -200 || getX() > 1160 || getY() < -100 || getY() > 840) {
-				getWorld().removeObject(this);
+				// removed once everything has acted
+				((SolSystem) getWorld()).getCommands().remove(this);
 			}
 		}
 	}
@@ -105,38 +135,41 @@ public class Asteroid extends CelestialBody {
 	private void checkCollision() {
 		// TODO
 		if (getWorld() != null) {
-			cList = (ArrayList<CelestialBody>) this.getObjectsInRange(
-					radiusOfCollision, CelestialBody.class);
+			if (!placed) {
+				lastX = getX(); // nothing has been swept through yet
+				lastY = getY();
+				placed = true;
+			}
+			// look up bodies along the path moved since the last act, nearest
+			// first, in the world's broadphase
+			((SolSystem) getWorld()).getCollisions().getAlongPath(this, lastX,
+					lastY, getX(), getY(), radiusOfCollision, false,
+					CelestialBody.class, cList);
+			lastX = getX();
+			lastY = getY();
+			CommandBuffer commands = ((SolSystem) getWorld()).getCommands(); // changes
+																				// made
+																				// next
+																				// frame
 			for (CelestialBody c : cList) {
 				if (c instanceof Planet) {
-					((Planet) c).attack((long) explodePower); // attack
-																// different
-																// planets(fake
-					// method that is to be
-					// implemented)
-					try {
-						getWorld().removeObject(this);
-					} catch (NullPointerException e) {
-					}
-				}
-				if (c instanceof Moon) {
-					c.reduceAttackPower(0.7); // reduce the attack power to 70%
-					c.exploit(0.5, true);
+					commands.damage(c, explodePower); // attack different
+														// planets
+				} else if (c instanceof Moon) {
+					commands.reduceAttackPower(c, 0.7); // reduce the attack
+														// power to 70%
+					commands.exploit(c, 0.5);
 					// exploit the resource of the moon
-					try {
-						getWorld().removeObject(this);
-					} catch (NullPointerException e) {
-					}
-				}
-				if (c instanceof Star) {
-					try {
-						getWorld().removeObject(this);
-					} catch (NullPointerException e) {
-					} // just remove this asteroid
-													// if
-													// it touches sun
+				} else if (!(c instanceof Star)) {
+					continue; // other asteroids are passed through
 				}
+				commands.remove(this); // only the first body hit is affected,
+										// and the asteroid is removed once
+										// everything has acted
+				return;
 			}
+			checkRemove(); // to check if the asteroid has disappeared in this
+							// world
 		}
 	}
 }
\ No newline at end of file
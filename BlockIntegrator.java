@@ -0,0 +1,165 @@
+import java.util.Arrays;
+
+/**
+ * BlockIntegrator is a kick-drift-kick Integrator with individual block
+ * timesteps. Each sub-step of a frame is a block, which every free body
+ * divides into a power of two of its own steps, chosen from how strongly it
+ * is being accelerated. A body grazing the Star may take dozens of steps per
+ * block while a distant one takes just one, and gravity is only recalculated
+ * for the bodies whose step ends at a given moment.
+ * <p>
+ * Every free body drifts through every finest step, which is cheap, so that
+ * all positions are current whenever gravity is recalculated. Steps are
+ * chosen again at the start of each block, when every body is in step.
+ * Gravity is calculated for every body once at the start of each frame, as
+ * bodies may have been added or moved since the last one.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class BlockIntegrator implements Integrator {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// Distance, in pixels, that a body may stray from a straight path within
+	// one step before its step is halved.
+	private double tolerance;
+	// Level of each body's step; a level L body takes 2^L steps per block.
+	private int[] level;
+	// Handles of the bodies whose step ends at the current moment.
+	private int[] due;
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Finest level; a block is split into at most 2^MAX_LEVEL steps.
+	public static final int MAX_LEVEL = 6;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs a BlockIntegrator.
+	 *
+	 * @param tolerance
+	 *            The distance, in pixels, that a body may stray from a
+	 *            straight path within one step. Smaller is more accurate.
+	 *            Negatives are ignored.
+	 */
+	public BlockIntegrator(double tolerance) {
+		this.tolerance = Math.abs(tolerance);
+		level = new int[0];
+		due = new int[0];
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Advances every free body in the store by one frame.
+	 *
+	 * @param store
+	 *            The store of bodies.
+	 * @param gravity
+	 *            The gravity solver.
+	 * @param dt
+	 *            The length of the frame.
+	 * @param steps
+	 *            The number of blocks. At least 1.
+	 */
+	public void advance(BodyStore store, Gravity gravity, double dt, int steps) {
+		int count = store.size();
+		if (level.length < count) {
+			level = new int[Math.max(count, level.length * 2)];
+			due = new int[level.length];
+		}
+		double block = dt / steps;
+		gravity.apply(store);
+		for (int b = 0; b < steps; b++) {
+			int finest = chooseLevels(store, count, block);
+			int ticks = 1 << finest;
+			double tick = block / ticks;
+			for (int t = 0; t < ticks; t++) {
+				// Opening half kick for bodies starting a step.
+				for (int i = 0; i < count; i++) {
+					if (store.free[i] && t % (ticks >> level[i]) == 0) {
+						kick(store, i, stepLength(block, i) / 2);
+					}
+				}
+				store.drift(tick);
+				// Closing half kick, with new gravity, for bodies ending one.
+				int n = 0;
+				for (int i = 0; i < count; i++) {
+					if (store.free[i] && (t + 1) % (ticks >> level[i]) == 0) {
+						due[n++] = i;
+					}
+				}
+				if (n > 0) {
+					gravity.apply(store, due, n);
+				}
+				for (int k = 0; k < n; k++) {
+					kick(store, due[k], stepLength(block, due[k]) / 2);
+				}
+			}
+		}
+	}
+
+	// PRIVATE METHODS------------------------------------------------------
+
+	/**
+	 * Chooses the level of every free body from its current acceleration. A
+	 * body accelerated by a over a step h strays a*h*h/2 from a straight path,
+	 * so each body takes the coarsest step which keeps that within tolerance.
+	 *
+	 * @param store
+	 *            The store of bodies.
+	 * @param count
+	 *            The number of bodies.
+	 * @param block
+	 *            The length of a block.
+	 * @return int The finest level chosen.
+	 */
+	private int chooseLevels(BodyStore store, int count, double block) {
+		Arrays.fill(level, 0, count, 0);
+		int finest = 0;
+		for (int i = 0; i < count; i++) {
+			if (!store.free[i]) {
+				continue;
+			}
+			double a = Math.sqrt(store.ax[i] * store.ax[i] + store.ay[i]
+					* store.ay[i]);
+			double h = block;
+			while (level[i] < MAX_LEVEL && a * h * h / 2 > tolerance) {
+				level[i]++;
+				h /= 2;
+			}
+			finest = Math.max(finest, level[i]);
+		}
+		return finest;
+	}
+
+	/**
+	 * Retrieves the length of a body's step.
+	 *
+	 * @param block
+	 *            The length of a block.
+	 * @param i
+	 *            The handle of the body.
+	 * @return double The step length.
+	 */
+	private double stepLength(double block, int i) {
+		return block / (1 << level[i]);
+	}
+
+	/**
+	 * Changes the velocity of a body by its acceleration over a time.
+	 *
+	 * @param store
+	 *            The store of bodies.
+	 * @param i
+	 *            The handle of the body.
+	 * @param t
+	 *            The time.
+	 */
+	private void kick(BodyStore store, int i, double t) {
+		store.vx[i] += store.ax[i] * t;
+		store.vy[i] += store.ay[i] * t;
+	}
+}
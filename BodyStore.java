@@ -0,0 +1,234 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * BodyStore holds the physical state of every CelestialBody in a World in
+ * contiguous primitive arrays, one per quantity, indexed by a handle given to
+ * each body when it is added. CelestialBodies are thin views over their slot,
+ * so physics code such as Gravity can stream over the arrays directly instead
+ * of visiting each Actor. One instance should be owned by the World.
+ * <p>
+ * Handles are dense; removing a body moves the last body into its slot and
+ * informs it of its new handle, so the arrays never contain gaps. Arrays may
+ * be replaced when the store grows, so they should be read again after any
+ * body is added.
+ * <p>
+ * Given a ForkJoinPool, kicks and drifts are split over its threads. Every
+ * body is updated independently, so results do not depend on thread count.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class BodyStore {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// Position, velocity, acceleration and mass of every body, by handle.
+	double[] x, y, vx, vy, ax, ay, mass;
+	// Whether each body moves freely under gravity, rather than only being a
+	// source of it, and whether it never moves at all.
+	boolean[] free, fixed;
+	// Count of changes to the set of fixed bodies.
+	int fixedVersion;
+	// The body occupying each slot.
+	private CelestialBody[] bodies;
+	// Number of occupied slots.
+	private int count;
+	// Pool to update bodies on, or null for the calling thread only.
+	private ForkJoinPool pool;
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Initial capacity.
+	private static final int INITIAL_BODIES = 64;
+	// Smallest number of bodies worth handing to another thread.
+	private static final int GRAIN = 1024;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs an empty BodyStore.
+	 */
+	public BodyStore() {
+		x = new double[INITIAL_BODIES];
+		y = new double[INITIAL_BODIES];
+		vx = new double[INITIAL_BODIES];
+		vy = new double[INITIAL_BODIES];
+		ax = new double[INITIAL_BODIES];
+		ay = new double[INITIAL_BODIES];
+		mass = new double[INITIAL_BODIES];
+		free = new boolean[INITIAL_BODIES];
+		fixed = new boolean[INITIAL_BODIES];
+		bodies = new CelestialBody[INITIAL_BODIES];
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Adds a body to the store with the given initial state.
+	 *
+	 * @param c
+	 *            The body to be added.
+	 * @param x
+	 *            Its x-coordinate.
+	 * @param y
+	 *            Its y-coordinate.
+	 * @param vx
+	 *            Its horizontal velocity.
+	 * @param vy
+	 *            Its vertical velocity.
+	 * @param mass
+	 *            Its mass.
+	 * @param free
+	 *            Whether it moves freely under gravity.
+	 * @return int The handle of the body's slot.
+	 */
+	public int add(CelestialBody c, double x, double y, double vx, double vy,
+			double mass, boolean free) {
+		if (count == bodies.length) {
+			grow();
+		}
+		int h = count++;
+		this.x[h] = x;
+		this.y[h] = y;
+		this.vx[h] = vx;
+		this.vy[h] = vy;
+		this.ax[h] = 0;
+		this.ay[h] = 0;
+		this.mass[h] = mass;
+		this.free[h] = free;
+		fixed[h] = false;
+		bodies[h] = c;
+		return h;
+	}
+
+	/**
+	 * Removes the body at the given handle. The last body is moved into the
+	 * freed slot and its handle is updated.
+	 *
+	 * @param h
+	 *            The handle of the body to be removed.
+	 */
+	public void remove(int h) {
+		setFixed(h, false);
+		int last = --count;
+		if (h != last) {
+			x[h] = x[last];
+			y[h] = y[last];
+			vx[h] = vx[last];
+			vy[h] = vy[last];
+			ax[h] = ax[last];
+			ay[h] = ay[last];
+			mass[h] = mass[last];
+			free[h] = free[last];
+			fixed[h] = fixed[last];
+			bodies[h] = bodies[last];
+			bodies[h].setHandle(h);
+		}
+		bodies[last] = null;
+	}
+
+	/**
+	 * Changes the velocity of every free body by its acceleration over the
+	 * given time.
+	 *
+	 * @param t
+	 *            The time.
+	 */
+	public void kick(final double t) {
+		ParallelRange.run(pool, count, GRAIN, new ParallelRange.Body() {
+			public void run(int from, int to) {
+				for (int i = from; i < to; i++) {
+					if (free[i]) {
+						vx[i] += ax[i] * t;
+						vy[i] += ay[i] * t;
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Changes the position of every free body by its velocity over the given
+	 * time.
+	 *
+	 * @param t
+	 *            The time.
+	 */
+	public void drift(final double t) {
+		ParallelRange.run(pool, count, GRAIN, new ParallelRange.Body() {
+			public void run(int from, int to) {
+				for (int i = from; i < to; i++) {
+					if (free[i]) {
+						x[i] += vx[i] * t;
+						y[i] += vy[i] * t;
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Sets the pool that kicks and drifts are split over.
+	 *
+	 * @param pool
+	 *            The pool, or null to update on the calling thread only.
+	 */
+	public void setPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Sets whether a body never moves.
+	 *
+	 * @param h
+	 *            The handle of the body.
+	 * @param fixed
+	 *            True if the body is fixed in place.
+	 */
+	public void setFixed(int h, boolean fixed) {
+		if (this.fixed[h] != fixed) {
+			this.fixed[h] = fixed;
+			fixedVersion++;
+		}
+	}
+
+	/**
+	 * Retrieves the number of bodies in the store.
+	 *
+	 * @return int The number of bodies, which are at handles 0 to size-1.
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Retrieves the body at the given handle.
+	 *
+	 * @param h
+	 *            The handle.
+	 * @return CelestialBody The body in that slot.
+	 */
+	public CelestialBody get(int h) {
+		return bodies[h];
+	}
+
+	// PRIVATE METHODS------------------------------------------------------
+
+	/**
+	 * Doubles the capacity of every array.
+	 */
+	private void grow() {
+		int size = bodies.length * 2;
+		x = Arrays.copyOf(x, size);
+		y = Arrays.copyOf(y, size);
+		vx = Arrays.copyOf(vx, size);
+		vy = Arrays.copyOf(vy, size);
+		ax = Arrays.copyOf(ax, size);
+		ay = Arrays.copyOf(ay, size);
+		mass = Arrays.copyOf(mass, size);
+		free = Arrays.copyOf(free, size);
+		fixed = Arrays.copyOf(fixed, size);
+		bodies = Arrays.copyOf(bodies, size);
+	}
+}
@@ -1,5 +1,4 @@
 import greenfoot.*; // (World, Actor, GreenfootImage, Greenfoot and MouseInfo)
-import java.util.ArrayList; //import arraylist
 
 /**
  * 
@@ -10,17 +9,24 @@ import java.util.ArrayList; //import arraylist
  * @version 1.0
  */
 public class CelestialBody extends SmoothMover {
+	public static final double G = 6.67384e-11; // the gravitational constant
+	public static final double METRES_PER_PIXEL_SQ = 1e6; // each pixel is a
+															// kilometre, so
+															// squared
+															// distances scale
+															// by 1000^2
 	protected double mass; // the mass of the bodies in kg
-	protected Vector gForce = new Vector(); // this is the gravity force that a
-											// celectial body experiences
-	protected Vector acceleration = new Vector(); // this is the acceceleration
-													// due to gravity
-	protected Vector speed = new Vector(); // this is the speed of the celestial
-											// body due to gravity
-	protected ArrayList<CelestialBody> cList = new ArrayList<CelestialBody>(); // create
-																				// a
-																				// new
-																				// arraylist
+	private BodyStore store; // the world's store of positions, velocities
+								// and masses that this body is a view over.
+								// null while not in a SolSystem
+	private int handle = -1; // the slot of this body in the store
+	private double velX, velY; // the velocity of the celestial body, only
+								// used while it is not in a store
+	private boolean freeFall; // whether the body moves freely under gravity.
+								// Bodies that are not free are only sources
+								// of gravity and move themselves
+	private boolean fixed; // whether the body never moves, so that its
+							// gravity can be precomputed
 	protected double attackPower = 0; // the attacking power of a celestial
 										// body. Initialized to be 0.
 	protected double resource; // the amount of resource left
@@ -30,45 +36,111 @@ public class CelestialBody extends SmoothMover {
 	 * whenever the 'Act' or 'Run' button gets pressed in the environment.
 	 */
 	public void act() {
-		this.setLocation(this.getX() + speed.getX(), this.getY() + speed.getY());
-		// move the celestial body due
-		// to velocity
-
-		cList = (ArrayList<CelestialBody>) this.getObjectsInRange(getWorld().getWidth(),
-				CelestialBody.class);
-		for (CelestialBody c : cList) {
-			double distance = getDistance(c, this); // return the distance
-			gForce.setMagnitude((6.67384 * Math.pow(10, -11) * c.getMass() * this
-					.getMass()) / (Math.pow(distance * 1000, 2))); // set the
-																	// magnitude
-																	// of the
-			// vector according to Newton's
-			// gravity equation
-			/**
-			this.turnTowards(c.getX(), c.getY());
-			gForce.setDirection(360 - this.getRotation());*/ // set the direction
-															// of the
-															// vector
-			gForce.setDirection(Helper.getAngle(getX(), getY(), c.getX(), c.getY()));
-			
-			acceleration = gForce.duplicate();
-			acceleration.setMagnitude(gForce.getMagnitude() / mass); // set the
-																		// magnitude
-																		// of
-																		// acceleration
-																		// due
-																		// to
-																		// equation
-																		// f=ma;
-			speed.setX(speed.getX() + acceleration.getX()); // update the
-															// velocity basing
-															// on acceleration
-			speed.setY(speed.getY() + acceleration.getY()); // update the
-															// velocity basing
-															// on acceleration
+		// bodies in a store are moved under gravity by the world's integrator,
+		// so only a free body outside of one needs to move itself, drifting
+		if (store == null && freeFall) {
+			this.setLocation(this.getX() + velX, this.getY() + velY);
 		}
 	}
 
+	/**
+	 * This method moves the actor to the position held in the store. Called
+	 * by the world after integrating
+	 */
+	public void updateLocation() {
+		if (store != null) {
+			super.setLocation(store.x[handle], store.y[handle]);
+		}
+	}
+
+	/**
+	 * This method puts the body into a store, which from then on holds its
+	 * position, velocity and mass. Called by the world when the body is added
+	 * 
+	 * @param store
+	 *            The store of the world the body was added to
+	 */
+	public void attach(BodyStore store) {
+		if (this.store == null) {
+			this.store = store;
+			handle = store.add(this, getX(), getY(), velX, velY, mass,
+					freeFall);
+			store.setFixed(handle, fixed);
+		}
+	}
+
+	/**
+	 * This method takes the body out of its store, keeping its velocity.
+	 * Called by the world when the body is removed
+	 */
+	public void detach() {
+		if (store != null) {
+			velX = store.vx[handle]; // keep the velocity
+			velY = store.vy[handle];
+			store.remove(handle);
+			store = null;
+			handle = -1;
+		}
+	}
+
+	/**
+	 * This method sets whether the body moves freely under gravity, or is only
+	 * a source of gravity that moves by itself
+	 * 
+	 * @param freeFall
+	 *            True if the world should move the body under gravity
+	 */
+	protected void setFreeFall(boolean freeFall) {
+		this.freeFall = freeFall;
+		if (store != null) {
+			store.free[handle] = freeFall; // keep the store up to date
+		}
+	}
+
+	/**
+	 * This method sets whether the body never moves. The world may then
+	 * precompute its gravity into a field instead of summing it every step,
+	 * so a fixed body must not be moved afterwards
+	 * 
+	 * @param fixed
+	 *            True if the body never moves
+	 */
+	protected void setFixed(boolean fixed) {
+		this.fixed = fixed;
+		if (store != null) {
+			store.setFixed(handle, fixed); // keep the store up to date
+		}
+	}
+
+	/**
+	 * This method tells if the body never moves
+	 * 
+	 * @return boolean True if the body is fixed in place
+	 */
+	public boolean isFixed() {
+		return fixed;
+	}
+
+	/**
+	 * This method tells if the body moves freely under gravity
+	 * 
+	 * @return boolean True if the world moves the body under gravity
+	 */
+	public boolean isFreeFall() {
+		return freeFall;
+	}
+
+	/**
+	 * This method updates the slot of the body in its store. Called by the
+	 * store when bodies are moved around
+	 * 
+	 * @param handle
+	 *            The new slot
+	 */
+	void setHandle(int handle) {
+		this.handle = handle;
+	}
+
 	/**
 	 * This is a method that gets distance between two actors
 	 * 
@@ -89,6 +161,9 @@ public class CelestialBody extends SmoothMover {
 	 * @return double The mass
 	 */
 	public double getMass() {
+		if (store != null) {
+			return store.mass[handle]; // read from the store while in it
+		}
 		return mass;
 	}
 
@@ -152,7 +227,71 @@ public class CelestialBody extends SmoothMover {
 	 *            celestial body
 	 */
 	public void setVelocity(Vector speed) {
-		this.speed = speed; // set the speed
+		if (store != null) {
+			store.vx[handle] = speed.getX(); // set the speed in the store
+			store.vy[handle] = speed.getY();
+		} else {
+			velX = speed.getX(); // set the speed until the body is stored
+			velY = speed.getY();
+		}
+	}
+
+	/**
+	 * This method gets the horizontal velocity of the celestial body
+	 * 
+	 * @return double The horizontal velocity
+	 */
+	public double getVelocityX() {
+		return store != null ? store.vx[handle] : velX;
+	}
+
+	/**
+	 * This method gets the vertical velocity of the celestial body
+	 * 
+	 * @return double The vertical velocity
+	 */
+	public double getVelocityY() {
+		return store != null ? store.vy[handle] : velY;
+	}
+
+	/**
+	 * Set the location using exact coordinates, keeping the store up to date
+	 */
+	@Override
+	public void setLocation(double x, double y) {
+		if (store != null) {
+			store.x[handle] = x;
+			store.y[handle] = y;
+		}
+		super.setLocation(x, y);
+	}
+
+	/**
+	 * Set the location using integer coordinates, keeping the store up to date
+	 */
+	@Override
+	public void setLocation(int x, int y) {
+		if (store != null) {
+			store.x[handle] = x;
+			store.y[handle] = y;
+		}
+		super.setLocation(x, y);
+	}
+
+	/**
+	 * Return the exact x-coordinate, as held by the store
+	 */
+	@Override
+	public double getExactX() {
+		return store != null ? store.x[handle] : super.getExactX();
+	}
+
+	/**
+	 * Return the exact y-coordinate, as held by the store
+	 */
+	@Override
+	public double getExactY() {
+		return store != null ? store.y[handle] : super.getExactY();
 	}
 
 }
\ No newline at end of file
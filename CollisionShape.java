@@ -0,0 +1,89 @@
+import greenfoot.*;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * CollisionShape gives every Actor a circle to collide with, so that
+ * collision checks are a comparison of distances rather than work on images.
+ * The radius of each sprite is measured once from its alpha mask, as the
+ * furthest visible pixel from its centre, and cached for as long as the image
+ * is in use. Since a circle looks the same at any rotation, Actors which spin
+ * every frame, such as Planets, never need measuring again.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public final class CollisionShape {
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Measured radius of each sprite, keyed by the image itself. Images are
+	// compared by identity and dropped once no longer referenced.
+	private static final Map<GreenfootImage, Double> RADII =
+			new WeakHashMap<GreenfootImage, Double>();
+
+	// Least alpha, out of 255, for a pixel to count as part of the sprite.
+	// Faint edges left by anti-aliasing and glows are ignored.
+	private static final int ALPHA_THRESHOLD = 16;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * CollisionShape cannot be instantiated.
+	 */
+	private CollisionShape() {
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Retrieves the collision radius of an Actor, measuring its image if it
+	 * has not been seen before.
+	 *
+	 * @param a
+	 *            The Actor.
+	 * @return double The radius around the Actor's centre, in pixels, or 0 if
+	 *         it has no image.
+	 */
+	public static double getRadius(Actor a) {
+		GreenfootImage img = a.getImage();
+		if (img == null) {
+			return 0;
+		}
+		Double r = RADII.get(img);
+		if (r == null) {
+			r = measure(img);
+			RADII.put(img, r);
+		}
+		return r;
+	}
+
+	// PRIVATE METHODS------------------------------------------------------
+
+	/**
+	 * Measures the distance from the centre of an image to the outer corner
+	 * of its furthest visible pixel.
+	 *
+	 * @param img
+	 *            The image.
+	 * @return double The radius, or 0 if no pixel is visible.
+	 */
+	private static double measure(GreenfootImage img) {
+		BufferedImage pixels = img.getAwtImage();
+		int w = pixels.getWidth();
+		int h = pixels.getHeight();
+		double max2 = 0;
+		for (int py = 0; py < h; py++) {
+			double dy = Math.abs(py + 0.5 - h / 2.0) + 0.5;
+			for (int px = 0; px < w; px++) {
+				if ((pixels.getRGB(px, py) >>> 24) < ALPHA_THRESHOLD) {
+					continue;
+				}
+				double dx = Math.abs(px + 0.5 - w / 2.0) + 0.5;
+				max2 = Math.max(max2, dx * dx + dy * dy);
+			}
+		}
+		return Math.sqrt(max2);
+	}
+}
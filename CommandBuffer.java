@@ -0,0 +1,394 @@
+import greenfoot.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CommandBuffer records the changes Actors want to make to the world and to
+ * each other during a frame, so that none of them happen while other Actors
+ * are still acting. Spawns, removals, damage, exploitation and resource
+ * transfers are kept in order and applied together by the World at the
+ * start of the next frame, before anything else is updated. A burst or wave
+ * of spawns is kept as a single command, which looks up the factory for its
+ * kind only once. Spawned Ships are kept in their owner's EntityList as they
+ * are added, and a whole EntityList may be removed at once, taking every
+ * Actor it holds when the removal is applied, including any spawned earlier
+ * in the same pass.
+ * <p>
+ * Commands aimed at an Actor that has left the world by then are dropped,
+ * so an Actor may safely be removed or damaged more than once. The World
+ * only returns removed Actors to their pools once every command has been
+ * applied, so no command can reach an Actor recycled during the same pass.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class CommandBuffer {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// The kind of each command, in the order recorded.
+	private int[] kinds;
+	// The Actor each command acts on, and a second Actor where one is needed:
+	// the receiving Planet of a transfer, or the owner of a spawn.
+	private Actor[] targets;
+	private Actor[] others;
+	// Amount of damage or resource, or the share of resource or attack power
+	// left.
+	private double[] amounts;
+	// Class, number, spawn points and velocities of each batch of spawns.
+	private Class<?>[] types;
+	private int[] counts;
+	private int[][] points;
+	private Vector[][] velocities;
+	// The list the Ships of a batch are kept in, or the list to be emptied.
+	private EntityList<?>[] lists;
+	// The Actors spawned by the batch being applied.
+	private List<Actor> spawned;
+	// Number of commands recorded.
+	private int count;
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Kinds of command.
+	private static final int SPAWN = 0;
+	private static final int REMOVE = 1;
+	private static final int DAMAGE = 2;
+	private static final int TRANSFER = 3;
+	private static final int EXPLOIT = 4;
+	private static final int REDUCE = 5;
+	private static final int REMOVE_ALL = 6;
+	// Number of commands room is made for at first.
+	private static final int INITIAL_CAPACITY = 64;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs an empty CommandBuffer.
+	 */
+	public CommandBuffer() {
+		kinds = new int[INITIAL_CAPACITY];
+		targets = new Actor[INITIAL_CAPACITY];
+		others = new Actor[INITIAL_CAPACITY];
+		amounts = new double[INITIAL_CAPACITY];
+		types = new Class<?>[INITIAL_CAPACITY];
+		counts = new int[INITIAL_CAPACITY];
+		points = new int[INITIAL_CAPACITY][];
+		velocities = new Vector[INITIAL_CAPACITY][];
+		lists = new EntityList<?>[INITIAL_CAPACITY];
+		spawned = new ArrayList<Actor>();
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Records the spawning of several CelestialBodies of the same kind, as
+	 * with SolSystem.spawnMany().
+	 *
+	 * @param type
+	 *            The Class of the bodies.
+	 * @param owner
+	 *            The Planet spawning them; null if none.
+	 * @param count
+	 *            The number of bodies to spawn.
+	 * @param positions
+	 *            The spawn points, as x and y pairs. They are used in turn and
+	 *            wrap around, so a single pair spawns every body at one point.
+	 * @param velocities
+	 *            The initial velocity of each body, null to leave them all at
+	 *            rest. A null element leaves that body at rest.
+	 */
+	public void spawnMany(Class<? extends CelestialBody> type, Planet owner,
+			int count, int[] positions, Vector[] velocities) {
+		int i = next(SPAWN);
+		others[i] = owner;
+		types[i] = type;
+		counts[i] = count;
+		points[i] = positions;
+		this.velocities[i] = velocities;
+	}
+
+	/**
+	 * Records the spawning of a wave of Ships of the same kind, as with
+	 * SolSystem.spawnMany(). The Ships are added to the given list as they
+	 * are spawned, and none are spawned if the owner has left the World by
+	 * then.
+	 *
+	 * @param type
+	 *            The Class of the Ships.
+	 * @param owner
+	 *            The Planet spawning them.
+	 * @param count
+	 *            The number of Ships to spawn.
+	 * @param positions
+	 *            The spawn points, as x and y pairs. They are used in turn and
+	 *            wrap around, so a single pair spawns every Ship at one point.
+	 * @param list
+	 *            The list of the owner's Ships of this kind.
+	 */
+	public <T extends Ship> void spawnMany(Class<T> type, Planet owner,
+			int count, int[] positions, EntityList<? super T> list) {
+		int i = next(SPAWN);
+		others[i] = owner;
+		types[i] = type;
+		counts[i] = count;
+		points[i] = positions;
+		lists[i] = list;
+	}
+
+	/**
+	 * Records the removal of an Actor from the World.
+	 *
+	 * @param a
+	 *            The Actor to be removed.
+	 */
+	public void remove(Actor a) {
+		targets[next(REMOVE)] = a;
+	}
+
+	/**
+	 * Records the removal of every Actor an EntityList holds when the removal
+	 * is applied.
+	 *
+	 * @param list
+	 *            The list to be emptied.
+	 */
+	public void removeAll(EntityList<?> list) {
+		lists[next(REMOVE_ALL)] = list;
+	}
+
+	/**
+	 * Records damage to a Planet or Ship. Planets take it on their shield
+	 * first.
+	 *
+	 * @param a
+	 *            The Planet or Ship damaged.
+	 * @param damage
+	 *            The amount of damage.
+	 */
+	public void damage(Actor a, double damage) {
+		int i = next(DAMAGE);
+		targets[i] = a;
+		amounts[i] = Math.abs(damage);
+	}
+
+	/**
+	 * Records resource drained from one Planet to another. Only as much as
+	 * the first Planet has left when the transfer is applied is drained, but
+	 * the second always receives the full amount.
+	 *
+	 * @param from
+	 *            The Planet drained.
+	 * @param to
+	 *            The Planet receiving the resource.
+	 * @param amount
+	 *            The amount of resource.
+	 */
+	public void transfer(Planet from, Planet to, long amount) {
+		int i = next(TRANSFER);
+		targets[i] = from;
+		others[i] = to;
+		amounts[i] = amount;
+	}
+
+	/**
+	 * Records the exploitation of a CelestialBody, leaving it a share of its
+	 * resource, as with CelestialBody.exploit(double, boolean).
+	 *
+	 * @param c
+	 *            The body exploited.
+	 * @param percentage
+	 *            The share of resource left.
+	 */
+	public void exploit(CelestialBody c, double percentage) {
+		int i = next(EXPLOIT);
+		targets[i] = c;
+		amounts[i] = percentage;
+	}
+
+	/**
+	 * Records a reduction in the attack power of a CelestialBody, as with
+	 * CelestialBody.reduceAttackPower().
+	 *
+	 * @param c
+	 *            The body weakened.
+	 * @param percentage
+	 *            The share of attack power left.
+	 */
+	public void reduceAttackPower(CelestialBody c, double percentage) {
+		int i = next(REDUCE);
+		targets[i] = c;
+		amounts[i] = percentage;
+	}
+
+	/**
+	 * Applies every command recorded, in order, then empties the buffer.
+	 * Commands recorded while applying are applied as well.
+	 *
+	 * @param world
+	 *            The World the commands are applied to.
+	 */
+	public void apply(SolSystem world) {
+		for (int i = 0; i < count; i++) {
+			switch (kinds[i]) {
+			case SPAWN:
+				spawn(world, i);
+				break;
+			case REMOVE:
+				world.removeObject(targets[i]);
+				break;
+			case REMOVE_ALL:
+				removeAll(world, i);
+				break;
+			case DAMAGE:
+				damage(world, i);
+				break;
+			case TRANSFER:
+				transfer(world, i);
+				break;
+			default:
+				weaken(world, i);
+				break;
+			}
+		}
+		// Let go of every Actor, so that none is kept from being collected.
+		Arrays.fill(targets, 0, count, null);
+		Arrays.fill(others, 0, count, null);
+		Arrays.fill(types, 0, count, null);
+		Arrays.fill(points, 0, count, null);
+		Arrays.fill(velocities, 0, count, null);
+		Arrays.fill(lists, 0, count, null);
+		count = 0;
+	}
+
+	// PRIVATE METHODS------------------------------------------------------
+
+	/**
+	 * Makes room for another command.
+	 *
+	 * @param kind
+	 *            The kind of command.
+	 * @return int The index of the command.
+	 */
+	private int next(int kind) {
+		if (count == kinds.length) {
+			int capacity = count * 2;
+			kinds = Arrays.copyOf(kinds, capacity);
+			targets = Arrays.copyOf(targets, capacity);
+			others = Arrays.copyOf(others, capacity);
+			amounts = Arrays.copyOf(amounts, capacity);
+			types = Arrays.copyOf(types, capacity);
+			counts = Arrays.copyOf(counts, capacity);
+			points = Arrays.copyOf(points, capacity);
+			velocities = Arrays.copyOf(velocities, capacity);
+			lists = Arrays.copyOf(lists, capacity);
+		}
+		kinds[count] = kind;
+		return count++;
+	}
+
+	/**
+	 * Applies a batch of spawns through SolSystem.spawnMany(). Ships are
+	 * only spawned if their owner is still in the World, and are added to
+	 * their owner's list; bodies are given their velocities.
+	 *
+	 * @param world
+	 *            The World spawned into.
+	 * @param i
+	 *            The index of the command.
+	 */
+	@SuppressWarnings("unchecked")
+	private void spawn(SolSystem world, int i) {
+		Planet owner = (Planet) others[i];
+		EntityList<Actor> list = (EntityList<Actor>) lists[i];
+		if (list != null && owner.getWorld() != world) {
+			return;
+		}
+		world.spawnMany((Class<? extends Actor>) types[i], owner, counts[i],
+				points[i], spawned);
+		Vector[] v = velocities[i];
+		for (int j = 0; j < spawned.size(); j++) {
+			if (list != null) {
+				list.add(spawned.get(j), world.getEntities());
+			} else if (v != null && v[j] != null) {
+				((CelestialBody) spawned.get(j)).setVelocity(v[j]);
+			}
+		}
+		spawned.clear();
+	}
+
+	/**
+	 * Applies the removal of a whole list. Each Actor is taken out of the
+	 * list as it is removed, so the list is emptied from its end.
+	 *
+	 * @param world
+	 *            The World the Actors are removed from.
+	 * @param i
+	 *            The index of the command.
+	 */
+	private void removeAll(SolSystem world, int i) {
+		EntityList<?> list = lists[i];
+		for (int j = list.size() - 1; j >= 0; j--) {
+			world.removeObject(list.get(j));
+		}
+	}
+
+	/**
+	 * Applies damage, unless its target has left the World.
+	 *
+	 * @param world
+	 *            The World the target should be in.
+	 * @param i
+	 *            The index of the command.
+	 */
+	private void damage(SolSystem world, int i) {
+		Actor a = targets[i];
+		if (a.getWorld() != world) {
+			return;
+		}
+		if (a instanceof Planet) {
+			((Planet) a).attack((long) amounts[i]);
+		} else if (a instanceof Ship) {
+			((Ship) a).changeHealth(-amounts[i]);
+		}
+	}
+
+	/**
+	 * Applies exploitation or a reduction in attack power, unless the body
+	 * has left the World.
+	 *
+	 * @param world
+	 *            The World the body should be in.
+	 * @param i
+	 *            The index of the command.
+	 */
+	private void weaken(SolSystem world, int i) {
+		CelestialBody c = (CelestialBody) targets[i];
+		if (c.getWorld() != world) {
+			return;
+		}
+		if (kinds[i] == EXPLOIT) {
+			c.exploit(amounts[i], true);
+		} else {
+			c.reduceAttackPower(amounts[i]);
+		}
+	}
+
+	/**
+	 * Applies a transfer, unless either Planet has left the World.
+	 *
+	 * @param world
+	 *            The World the Planets should be in.
+	 * @param i
+	 *            The index of the command.
+	 */
+	private void transfer(SolSystem world, int i) {
+		Planet from = (Planet) targets[i];
+		Planet to = (Planet) others[i];
+		if (from.getWorld() != world || to.getWorld() != world) {
+			return;
+		}
+		from.changeResource(-(long) amounts[i]);
+		to.changeResource((long) amounts[i]);
+	}
+}
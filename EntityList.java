@@ -0,0 +1,127 @@
+import greenfoot.*;
+import java.util.Arrays;
+
+/**
+ * EntityList holds a group of Actors belonging to one owner, such as the
+ * Probes of a Planet, and only ever holds those still in the World. Each
+ * Actor is registered with the World's EntityRegistry as it is added, and
+ * taken out of the list as soon as it is released, by moving the last Actor
+ * into its place. The order of the list is therefore not kept.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class EntityList<T extends Actor> implements
+		EntityRegistry.RemovalListener {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// Every Actor held, with its handle.
+	private Actor[] items;
+	private int[] handles;
+	private int count;
+	// Position in the list of each registry slot held.
+	private int[] positions;
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Initial capacity.
+	private static final int INITIAL_ITEMS = 4;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs an empty EntityList.
+	 */
+	public EntityList() {
+		items = new Actor[INITIAL_ITEMS];
+		handles = new int[INITIAL_ITEMS];
+		positions = new int[INITIAL_ITEMS];
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Adds an Actor to the end of the list.
+	 *
+	 * @param a
+	 *            The Actor.
+	 * @param registry
+	 *            The registry of the World the Actor is in, or is about to
+	 *            be added to. Must be the same for every Actor in the list.
+	 */
+	public void add(T a, EntityRegistry registry) {
+		int h = registry.register(a, this);
+		if (count == items.length) {
+			items = Arrays.copyOf(items, count * 2);
+			handles = Arrays.copyOf(handles, count * 2);
+		}
+		int s = EntityRegistry.slotOf(h);
+		if (s >= positions.length) {
+			positions = Arrays.copyOf(positions,
+					Math.max(s + 1, positions.length * 2));
+		}
+		items[count] = a;
+		handles[count] = h;
+		positions[s] = count;
+		count++;
+	}
+
+	/**
+	 * Retrieves an Actor.
+	 *
+	 * @param i
+	 *            The position in the list, from 0 to size() - 1.
+	 * @return T The Actor.
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int i) {
+		return (T) items[i];
+	}
+
+	/**
+	 * Retrieves the number of Actors held.
+	 *
+	 * @return int The number of Actors.
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Arranges for every Actor held to be removed from the World. They stay
+	 * in the list until the removal is applied, which takes every Actor held
+	 * by then.
+	 *
+	 * @param commands
+	 *            The buffer the removal is recorded in.
+	 */
+	public void removeAll(CommandBuffer commands) {
+		commands.removeAll(this);
+	}
+
+	/**
+	 * Takes a released Actor out of the list. Called by the registry.
+	 *
+	 * @param a
+	 *            The Actor.
+	 * @param h
+	 *            Its handle.
+	 */
+	public void removed(Actor a, int h) {
+		int s = EntityRegistry.slotOf(h);
+		if (s >= positions.length) {
+			return;
+		}
+		int i = positions[s];
+		if (i >= count || handles[i] != h) {
+			return;
+		}
+		// Move the last Actor into the gap.
+		count--;
+		items[i] = items[count];
+		handles[i] = handles[count];
+		positions[EntityRegistry.slotOf(handles[i])] = i;
+		items[count] = null;
+	}
+}
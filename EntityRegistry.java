@@ -0,0 +1,182 @@
+import greenfoot.*;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * EntityRegistry keeps track of Actors that something else holds on to, such
+ * as the Ships belonging to a Planet, and tells the holder the moment one
+ * leaves the World. Holders no longer need to check every reference they
+ * keep each frame to find the ones that are gone.
+ * <p>
+ * Each registered Actor is given a handle made of a slot and a generation.
+ * When the Actor is released its slot is reused, but the generation is
+ * bumped, so an old handle never refers to whatever takes its place. The
+ * World releases every Actor it removes.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class EntityRegistry {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// The Actor in each slot, who to tell when it is released, and the
+	// current generation of the slot.
+	private Actor[] entities;
+	private RemovalListener[] listeners;
+	private int[] generations;
+	private int slotCount;
+	// Slots released and ready for reuse.
+	private int[] free;
+	private int freeCount;
+	// Slot of every registered Actor.
+	private Map<Actor, Integer> slots;
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Bits of a handle holding the slot; the rest hold the generation, which
+	// wraps around before reaching the sign bit.
+	private static final int SLOT_BITS = 20;
+	private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+	private static final int GENERATION_MASK = (1 << (31 - SLOT_BITS)) - 1;
+	// Initial number of slots.
+	private static final int INITIAL_SLOTS = 64;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs an empty EntityRegistry.
+	 */
+	public EntityRegistry() {
+		entities = new Actor[INITIAL_SLOTS];
+		listeners = new RemovalListener[INITIAL_SLOTS];
+		generations = new int[INITIAL_SLOTS];
+		free = new int[INITIAL_SLOTS];
+		slots = new IdentityHashMap<Actor, Integer>();
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Registers an Actor to be watched. An Actor already registered is
+	 * released from its old holder first, so each has only one.
+	 *
+	 * @param a
+	 *            The Actor.
+	 * @param listener
+	 *            Who to tell when the Actor is released, or null.
+	 * @return int The handle of the Actor.
+	 */
+	public int register(Actor a, RemovalListener listener) {
+		release(a);
+		int s;
+		if (freeCount > 0) {
+			s = free[--freeCount];
+		} else {
+			if (slotCount == entities.length) {
+				if (slotCount > SLOT_MASK) {
+					throw new IllegalStateException("Too many entities.");
+				}
+				int size = slotCount * 2;
+				entities = Arrays.copyOf(entities, size);
+				listeners = Arrays.copyOf(listeners, size);
+				generations = Arrays.copyOf(generations, size);
+				free = Arrays.copyOf(free, size);
+			}
+			s = slotCount++;
+		}
+		entities[s] = a;
+		listeners[s] = listener;
+		slots.put(a, s);
+		return handle(s);
+	}
+
+	/**
+	 * Releases an Actor, telling its holder and invalidating its handle.
+	 * Nothing happens if the Actor is not registered.
+	 *
+	 * @param a
+	 *            The Actor.
+	 */
+	public void release(Actor a) {
+		Integer slot = slots.remove(a);
+		if (slot == null) {
+			return;
+		}
+		int s = slot;
+		int h = handle(s);
+		RemovalListener listener = listeners[s];
+		entities[s] = null;
+		listeners[s] = null;
+		generations[s] = (generations[s] + 1) & GENERATION_MASK;
+		free[freeCount++] = s;
+		if (listener != null) {
+			listener.removed(a, h);
+		}
+	}
+
+	/**
+	 * Retrieves the Actor a handle refers to.
+	 *
+	 * @param h
+	 *            The handle.
+	 * @return Actor The Actor, or null if it has been released.
+	 */
+	public Actor get(int h) {
+		int s = slotOf(h);
+		if (s >= slotCount || handle(s) != h) {
+			return null;
+		}
+		return entities[s];
+	}
+
+	/**
+	 * Retrieves the number of registered Actors.
+	 *
+	 * @return int The number of Actors.
+	 */
+	public int size() {
+		return slots.size();
+	}
+
+	/**
+	 * Retrieves the slot of a handle, which is unique among registered
+	 * Actors and small enough to index an array with.
+	 *
+	 * @param h
+	 *            The handle.
+	 * @return int The slot.
+	 */
+	public static int slotOf(int h) {
+		return h & SLOT_MASK;
+	}
+
+	/**
+	 * Something told when a registered Actor is released.
+	 */
+	public interface RemovalListener {
+		/**
+		 * Called once the Actor has been released, with the handle it had.
+		 *
+		 * @param a
+		 *            The Actor.
+		 * @param h
+		 *            Its handle, no longer valid.
+		 */
+		public void removed(Actor a, int h);
+	}
+
+	// PRIVATE METHODS------------------------------------------------------
+
+	/**
+	 * Retrieves the current handle of a slot.
+	 *
+	 * @param s
+	 *            The slot.
+	 * @return int The handle.
+	 */
+	private int handle(int s) {
+		return (generations[s] << SLOT_BITS) | s;
+	}
+}
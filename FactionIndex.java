@@ -0,0 +1,136 @@
+import greenfoot.*;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * FactionIndex finds the nearest Actor of one kind belonging to any faction
+ * but a given one, such as the nearest enemy Destroyer to a Ship. Actors are
+ * partitioned by owner, each partition a NearestIndex of its own, so a query
+ * skips the asking faction's partition outright instead of visiting and
+ * rejecting each of its Actors. Rebuilt once per frame by the World.
+ * <p>
+ * Partitions are kept while their owner has Actors, so that their storage is
+ * reused from frame to frame. Those left empty by a rebuild are dropped, so
+ * the index does not hold on to owners that have left the World.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class FactionIndex<T extends Actor> implements TargetIndex<T> {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// Partition of each owner, and every partition in order of creation.
+	private IdentityHashMap<Object, NearestIndex<T>> byOwner;
+	private ArrayList<Object> owners;
+	private ArrayList<NearestIndex<T>> partitions;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs an empty FactionIndex.
+	 */
+	public FactionIndex() {
+		byOwner = new IdentityHashMap<Object, NearestIndex<T>>();
+		owners = new ArrayList<Object>();
+		partitions = new ArrayList<NearestIndex<T>>();
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Removes every Actor from every partition.
+	 */
+	public void clear() {
+		for (int i = 0; i < partitions.size(); i++) {
+			partitions.get(i).clear();
+		}
+	}
+
+	/**
+	 * Adds an Actor at its current position to the partition of its owner.
+	 * The index must be rebuilt before it is found by queries.
+	 *
+	 * @param a
+	 *            The Actor to be added. Must be in a World.
+	 * @param owner
+	 *            The owner of the Actor, or null for none.
+	 */
+	public void add(T a, Object owner) {
+		NearestIndex<T> partition = byOwner.get(owner);
+		if (partition == null) {
+			partition = new NearestIndex<T>();
+			byOwner.put(owner, partition);
+			owners.add(owner);
+			partitions.add(partition);
+		}
+		partition.add(a, owner);
+	}
+
+	/**
+	 * Rebuilds every partition from the Actors added since the last clear(),
+	 * dropping any left empty.
+	 */
+	public void build() {
+		for (int i = partitions.size() - 1; i >= 0; i--) {
+			NearestIndex<T> partition = partitions.get(i);
+			if (partition.size() == 0) {
+				// Move the last partition into its place.
+				int last = partitions.size() - 1;
+				byOwner.remove(owners.get(i));
+				owners.set(i, owners.get(last));
+				partitions.set(i, partitions.get(last));
+				owners.remove(last);
+				partitions.remove(last);
+			} else {
+				partition.build();
+			}
+		}
+	}
+
+	/**
+	 * Finds the nearest Actor to a point within a range, belonging to any
+	 * owner but the given one. Each partition searched narrows the range for
+	 * the next.
+	 *
+	 * @param x
+	 *            The x-coordinate of the point.
+	 * @param y
+	 *            The y-coordinate of the point.
+	 * @param maxRange
+	 *            The greatest distance to look.
+	 * @param excludeOwner
+	 *            The owner whose partition is skipped, or null for none.
+	 * @return T The nearest Actor, or null if there is none in range.
+	 */
+	public T nearest(double x, double y, double maxRange, Object excludeOwner) {
+		T best = null;
+		double range = maxRange;
+		for (int i = 0; i < partitions.size(); i++) {
+			NearestIndex<T> partition = partitions.get(i);
+			if (partition.size() == 0
+					|| (excludeOwner != null && owners.get(i) == excludeOwner)) {
+				continue;
+			}
+			T found = partition.nearest(x, y, range, null);
+			if (found != null) {
+				best = found;
+				range = partition.getLastDistance();
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Retrieves the number of Actors in every partition.
+	 *
+	 * @return int The number of Actors.
+	 */
+	public int size() {
+		int size = 0;
+		for (int i = 0; i < partitions.size(); i++) {
+			size += partitions.get(i).size();
+		}
+		return size;
+	}
+}
@@ -0,0 +1,561 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Gravity calculates the gravitational acceleration of every CelestialBody in
+ * the world at once, working directly on the arrays of the World's BodyStore.
+ * It is called by the World's Integrator whenever accelerations are needed,
+ * which may be several times per frame. One instance should be owned by the
+ * World.
+ * <p>
+ * While there are few sources of gravity, each unordered pair of sources is
+ * visited exactly once and Newton's third law is applied to both sides, so
+ * the force between two sources is only ever calculated once; every other
+ * body is pulled by the sources through the GravityKernel. For more
+ * sources, the pull on each body is gathered from all of them by the
+ * GravityKernel, whose lane loop may be switched off at runtime for an
+ * identical scalar loop. Beyond a further threshold, the pull on each body is
+ * instead read from a Barnes-Hut QuadTree.
+ * <p>
+ * Unless full N-body gravity is switched on, only attractors, bodies at or
+ * above a mass threshold such as the Star and Planets, exert any pull. All
+ * lighter bodies, such as Asteroids, are tracers which feel the attractors
+ * but are treated as massless. The cost then grows with the number of bodies
+ * times the number of attractors, rather than the square of the number of
+ * bodies.
+ * <p>
+ * If a GravityField is given, the pull of fixed bodies such as the Star is
+ * read from it instead of being summed. The field is rebuilt whenever the set
+ * of fixed bodies in the store changes.
+ * <p>
+ * Given a ForkJoinPool, the kernel and the tree split their bodies over its
+ * threads. Both gather the pull on each body independently of the others, in
+ * a fixed order, so the result does not depend on the number of threads.
+ * Symmetric pairs are only used for few bodies and always run on the calling
+ * thread.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class Gravity {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// Tree for large numbers of bodies.
+	private QuadTree tree;
+	// Number of sources above which the kernel is used instead of pairs.
+	private int pairThreshold;
+	// Number of bodies above which the tree is used instead of the kernel.
+	private int treeThreshold;
+	// Whether the kernel uses its loop unrolled over four lanes.
+	private boolean unrolled;
+	// Pool to gather on, or null for the calling thread only.
+	private ForkJoinPool pool;
+	// Smallest mass of an attractor, and whether every body attracts anyway.
+	private double attractorMass;
+	private boolean fullNBody;
+	// Position, mass and handle of every attractor, gathered each time
+	// gravity is applied.
+	private double[] attractX, attractY, attractMass;
+	private int[] attractHandle;
+	// Precomputed field of fixed bodies, or null to sum them as usual, and the
+	// version of the store's fixed bodies it was built from.
+	private GravityField field;
+	private int fieldVersion;
+	// Position and acceleration of each target when only some are updated.
+	private double[] targetX, targetY, targetAX, targetAY;
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Smallest number of bodies worth handing to another thread.
+	private static final int GRAIN = 64;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs a Gravity solver.
+	 *
+	 * @param theta
+	 *            The opening angle of the Barnes-Hut tree. Negatives ignored.
+	 * @param pairThreshold
+	 *            The number of sources above which the GravityKernel is used
+	 *            instead of symmetric pairs. Negatives ignored.
+	 * @param treeThreshold
+	 *            The number of bodies above which the tree is used instead of
+	 *            exact summation. Negatives ignored.
+	 * @param attractorMass
+	 *            The smallest mass of a body which exerts gravity, unless full
+	 *            N-body gravity is on. Negatives ignored.
+	 */
+	public Gravity(double theta, int pairThreshold, int treeThreshold,
+			double attractorMass) {
+		tree = new QuadTree(theta);
+		this.pairThreshold = Math.abs(pairThreshold);
+		this.treeThreshold = Math.abs(treeThreshold);
+		this.attractorMass = Math.abs(attractorMass);
+		unrolled = true;
+		fullNBody = false;
+		attractX = new double[0];
+		attractY = new double[0];
+		attractMass = new double[0];
+		attractHandle = new int[0];
+		targetX = new double[0];
+		targetY = new double[0];
+		targetAX = new double[0];
+		targetAY = new double[0];
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Sets the opening angle of the Barnes-Hut tree.
+	 *
+	 * @param theta
+	 *            The opening angle criterion. Negatives are ignored.
+	 */
+	public void setTheta(double theta) {
+		tree.setTheta(theta);
+	}
+
+	/**
+	 * Sets the number of sources above which the GravityKernel is used.
+	 *
+	 * @param pairThreshold
+	 *            The threshold. Negatives are ignored.
+	 */
+	public void setPairThreshold(int pairThreshold) {
+		this.pairThreshold = Math.abs(pairThreshold);
+	}
+
+	/**
+	 * Sets whether the GravityKernel uses its loop unrolled over four lanes
+	 * or its scalar loop. Both give identical results.
+	 *
+	 * @param unrolled
+	 *            True for the unrolled loop, false for the scalar loop.
+	 */
+	public void setUnrolled(boolean unrolled) {
+		this.unrolled = unrolled;
+	}
+
+	/**
+	 * Sets the smallest mass of a body which exerts gravity. Lighter bodies
+	 * only feel it, unless full N-body gravity is on.
+	 *
+	 * @param attractorMass
+	 *            The mass threshold. Negatives are ignored.
+	 */
+	public void setAttractorMass(double attractorMass) {
+		this.attractorMass = Math.abs(attractorMass);
+	}
+
+	/**
+	 * Sets whether every body exerts gravity on every other, regardless of
+	 * the attractor mass threshold.
+	 *
+	 * @param fullNBody
+	 *            True for full N-body gravity, false for attractors only.
+	 */
+	public void setFullNBody(boolean fullNBody) {
+		this.fullNBody = fullNBody;
+	}
+
+	/**
+	 * Sets the precomputed field that the pull of fixed bodies is read from.
+	 * The field is filled from the store the next time gravity is applied.
+	 *
+	 * @param field
+	 *            The field, or null to sum fixed bodies like any other.
+	 */
+	public void setField(GravityField field) {
+		this.field = field;
+		fieldVersion = -1;
+	}
+
+	/**
+	 * Sets the pool that gravity is gathered on.
+	 *
+	 * @param pool
+	 *            The pool, or null to gather on the calling thread only.
+	 */
+	public void setPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Sets the number of bodies above which the Barnes-Hut tree is used.
+	 *
+	 * @param treeThreshold
+	 *            The threshold. Negatives are ignored.
+	 */
+	public void setTreeThreshold(int treeThreshold) {
+		this.treeThreshold = Math.abs(treeThreshold);
+	}
+
+	/**
+	 * Calculates the gravitational acceleration on every body in the store
+	 * due to all of the others, and writes it into the store.
+	 *
+	 * @param store
+	 *            The store holding every CelestialBody in the world.
+	 */
+	public void apply(BodyStore store) {
+		int count = store.size();
+		Arrays.fill(store.ax, 0, count, 0);
+		Arrays.fill(store.ay, 0, count, 0);
+		boolean useField = updateField(store);
+		int sources = gatherSources(store, count, !fullNBody, useField);
+		if (sources <= pairThreshold) {
+			solvePairs(store, count, sources, useField);
+		} else {
+			solveSources(attractX, attractY, attractMass, sources, useField,
+					store.x, store.y, count, store.ax, store.ay);
+		}
+	}
+
+	/**
+	 * Calculates the gravitational acceleration on only some of the bodies in
+	 * the store, and writes it into the store. Every body is still a source.
+	 * Used to update bodies whose accelerations are due without paying for
+	 * the rest.
+	 *
+	 * @param store
+	 *            The store holding every CelestialBody in the world.
+	 * @param targets
+	 *            The handles of the bodies to be updated.
+	 * @param n
+	 *            The number of handles, from the start of targets.
+	 */
+	public void apply(BodyStore store, int[] targets, int n) {
+		growTargets(n);
+		for (int k = 0; k < n; k++) {
+			targetX[k] = store.x[targets[k]];
+			targetY[k] = store.y[targets[k]];
+		}
+		Arrays.fill(targetAX, 0, n, 0);
+		Arrays.fill(targetAY, 0, n, 0);
+		solve(store, targetX, targetY, n, targetAX, targetAY);
+		for (int k = 0; k < n; k++) {
+			store.ax[targets[k]] = targetAX[k];
+			store.ay[targets[k]] = targetAY[k];
+		}
+	}
+
+	// PRIVATE METHODS------------------------------------------------------
+
+	/**
+	 * Gathers the pull on a set of targets from the sources in the store;
+	 * every body with full N-body gravity, otherwise only the attractors.
+	 *
+	 * @param store
+	 *            The store of bodies.
+	 * @param tx
+	 *            The x-coordinate of each target.
+	 * @param ty
+	 *            The y-coordinate of each target.
+	 * @param targets
+	 *            The number of targets.
+	 * @param ax
+	 *            The horizontal acceleration of each target, added to.
+	 * @param ay
+	 *            The vertical acceleration of each target, added to.
+	 */
+	private void solve(BodyStore store, double[] tx, double[] ty,
+			int targets, double[] ax, double[] ay) {
+		double[] sx = store.x, sy = store.y, sm = store.mass;
+		int sources = store.size();
+		boolean useField = updateField(store);
+		if (!fullNBody || useField) {
+			sources = gatherSources(store, sources, !fullNBody, useField);
+			sx = attractX;
+			sy = attractY;
+			sm = attractMass;
+		}
+		solveSources(sx, sy, sm, sources, useField, tx, ty, targets, ax, ay);
+	}
+
+	/**
+	 * Gathers the pull on a set of targets from sources already gathered,
+	 * picking the kernel or the tree by the number of sources, and adds the
+	 * pull of the field if it is used.
+	 *
+	 * @param sx
+	 *            The x-coordinate of each source.
+	 * @param sy
+	 *            The y-coordinate of each source.
+	 * @param sm
+	 *            The mass of each source.
+	 * @param sources
+	 *            The number of sources.
+	 * @param useField
+	 *            True to add the pull of the fixed bodies from the field.
+	 * @param tx
+	 *            The x-coordinate of each target.
+	 * @param ty
+	 *            The y-coordinate of each target.
+	 * @param targets
+	 *            The number of targets.
+	 * @param ax
+	 *            The horizontal acceleration of each target, added to.
+	 * @param ay
+	 *            The vertical acceleration of each target, added to.
+	 */
+	private void solveSources(double[] sx, double[] sy, double[] sm,
+			int sources, boolean useField, double[] tx, double[] ty,
+			int targets, double[] ax, double[] ay) {
+		if (sources > treeThreshold) {
+			solveTree(sx, sy, sm, sources, tx, ty, targets, ax, ay);
+		} else {
+			solveKernel(sx, sy, sm, sources, tx, ty, targets, ax, ay);
+		}
+		if (useField) {
+			solveField(tx, ty, targets, ax, ay);
+		}
+	}
+
+	/**
+	 * Rebuilds the field from the fixed bodies in the store if they have
+	 * changed since it was last built.
+	 *
+	 * @param store
+	 *            The store of bodies.
+	 * @return boolean True if the field holds any bodies and should be used.
+	 */
+	private boolean updateField(BodyStore store) {
+		if (field == null) {
+			return false;
+		}
+		if (fieldVersion != store.fixedVersion) {
+			field.clear();
+			for (int i = 0; i < store.size(); i++) {
+				if (store.fixed[i]) {
+					field.add(store.x[i], store.y[i], store.mass[i]);
+				}
+			}
+			fieldVersion = store.fixedVersion;
+		}
+		return field.size() > 0;
+	}
+
+	/**
+	 * Sums the gravity between every unordered pair of sources once, applying
+	 * equal and opposite forces to both, then gathers the pull of the sources
+	 * on every other body with the GravityKernel. The sources must already be
+	 * in the attractor arrays.
+	 *
+	 * @param store
+	 *            The store of bodies.
+	 * @param count
+	 *            The number of bodies.
+	 * @param sources
+	 *            The number of sources.
+	 * @param useField
+	 *            True to add the pull of the fixed bodies from the field.
+	 */
+	private void solvePairs(BodyStore store, int count, int sources,
+			boolean useField) {
+		double[] x = attractX, y = attractY, mass = attractMass;
+		double[] ax = store.ax, ay = store.ay;
+		for (int i = 0; i < sources; i++) {
+			double xi = x[i], yi = y[i], mi = mass[i];
+			double axi = 0, ayi = 0;
+			for (int j = i + 1; j < sources; j++) {
+				double dx = x[j] - xi;
+				double dy = y[j] - yi;
+				double d2 = dx * dx + dy * dy;
+				// Bodies on the same point exert no defined force.
+				if (d2 == 0) {
+					continue;
+				}
+				// Acceleration per unit of the other body's mass, divided by
+				// distance, so that multiplying by displacement gives the
+				// components.
+				double f = CelestialBody.G
+						/ (d2 * CelestialBody.METRES_PER_PIXEL_SQ * Math.sqrt(d2));
+				double fi = f * mass[j];
+				double fj = f * mi;
+				axi += fi * dx;
+				ayi += fi * dy;
+				ax[attractHandle[j]] -= fj * dx;
+				ay[attractHandle[j]] -= fj * dy;
+			}
+			ax[attractHandle[i]] += axi;
+			ay[attractHandle[i]] += ayi;
+		}
+		// Every body that is not a source is only pulled. Sources were
+		// gathered in order of handle, so the rest lie between them.
+		growTargets(count - sources);
+		int n = 0;
+		for (int h = 0, k = 0; h < count; h++) {
+			if (k < sources && attractHandle[k] == h) {
+				k++;
+			} else {
+				targetX[n] = store.x[h];
+				targetY[n] = store.y[h];
+				n++;
+			}
+		}
+		Arrays.fill(targetAX, 0, n, 0);
+		Arrays.fill(targetAY, 0, n, 0);
+		solveKernel(x, y, mass, sources, targetX, targetY, n, targetAX,
+				targetAY);
+		for (int h = 0, k = 0, t = 0; h < count; h++) {
+			if (k < sources && attractHandle[k] == h) {
+				k++;
+			} else {
+				ax[h] += targetAX[t];
+				ay[h] += targetAY[t];
+				t++;
+			}
+		}
+		if (useField) {
+			solveField(store.x, store.y, count, ax, ay);
+		}
+	}
+
+	/**
+	 * Makes room for a number of targets in the target arrays.
+	 *
+	 * @param n
+	 *            The number of targets.
+	 */
+	private void growTargets(int n) {
+		if (targetX.length < n) {
+			int size = Math.max(n, targetX.length * 2);
+			targetX = new double[size];
+			targetY = new double[size];
+			targetAX = new double[size];
+			targetAY = new double[size];
+		}
+	}
+
+	/**
+	 * Copies the position and mass of every source in the store into the
+	 * attractor arrays, growing them if needed.
+	 *
+	 * @param store
+	 *            The store of bodies.
+	 * @param count
+	 *            The number of bodies.
+	 * @param attractorsOnly
+	 *            True to skip bodies lighter than the attractor mass.
+	 * @param skipFixed
+	 *            True to skip fixed bodies, whose pull comes from the field.
+	 * @return int The number of sources.
+	 */
+	private int gatherSources(BodyStore store, int count,
+			boolean attractorsOnly, boolean skipFixed) {
+		if (attractX.length < count) {
+			int size = Math.max(count, attractX.length * 2);
+			attractX = new double[size];
+			attractY = new double[size];
+			attractMass = new double[size];
+			attractHandle = new int[size];
+		}
+		int sources = 0;
+		for (int i = 0; i < count; i++) {
+			if ((!attractorsOnly || store.mass[i] >= attractorMass)
+					&& !(skipFixed && store.fixed[i])) {
+				attractX[sources] = store.x[i];
+				attractY[sources] = store.y[i];
+				attractMass[sources] = store.mass[i];
+				attractHandle[sources] = i;
+				sources++;
+			}
+		}
+		return sources;
+	}
+
+	/**
+	 * Gathers the pull on a set of targets from a set of sources with the
+	 * GravityKernel.
+	 *
+	 * @param sx
+	 *            The x-coordinate of each source.
+	 * @param sy
+	 *            The y-coordinate of each source.
+	 * @param sm
+	 *            The mass of each source.
+	 * @param sources
+	 *            The number of sources.
+	 * @param tx
+	 *            The x-coordinate of each target.
+	 * @param ty
+	 *            The y-coordinate of each target.
+	 * @param targets
+	 *            The number of targets.
+	 * @param ax
+	 *            The horizontal acceleration of each target, added to.
+	 * @param ay
+	 *            The vertical acceleration of each target, added to.
+	 */
+	private void solveKernel(final double[] sx, final double[] sy,
+			final double[] sm, final int sources, final double[] tx,
+			final double[] ty, int targets, final double[] ax,
+			final double[] ay) {
+		final boolean lanes = unrolled;
+		ParallelRange.run(pool, targets, GRAIN, new ParallelRange.Body() {
+			public void run(int from, int to) {
+				GravityKernel.accumulate(sx, sy, sm, sources, tx, ty, from, to,
+						ax, ay, lanes);
+			}
+		});
+	}
+
+	/**
+	 * Reads the pull of the fixed bodies on a set of targets from the field.
+	 *
+	 * @param tx
+	 *            The x-coordinate of each target.
+	 * @param ty
+	 *            The y-coordinate of each target.
+	 * @param targets
+	 *            The number of targets.
+	 * @param ax
+	 *            The horizontal acceleration of each target, added to.
+	 * @param ay
+	 *            The vertical acceleration of each target, added to.
+	 */
+	private void solveField(final double[] tx, final double[] ty,
+			int targets, final double[] ax, final double[] ay) {
+		ParallelRange.run(pool, targets, GRAIN, new ParallelRange.Body() {
+			public void run(int from, int to) {
+				field.accumulate(tx, ty, from, to, ax, ay);
+			}
+		});
+	}
+
+	/**
+	 * Reads the pull on a set of targets from a Barnes-Hut tree of a set of
+	 * sources.
+	 *
+	 * @param sx
+	 *            The x-coordinate of each source.
+	 * @param sy
+	 *            The y-coordinate of each source.
+	 * @param sm
+	 *            The mass of each source.
+	 * @param sources
+	 *            The number of sources.
+	 * @param tx
+	 *            The x-coordinate of each target.
+	 * @param ty
+	 *            The y-coordinate of each target.
+	 * @param targets
+	 *            The number of targets.
+	 * @param ax
+	 *            The horizontal acceleration of each target, added to.
+	 * @param ay
+	 *            The vertical acceleration of each target, added to.
+	 */
+	private void solveTree(double[] sx, double[] sy, double[] sm,
+			int sources, final double[] tx, final double[] ty, int targets,
+			final double[] ax, final double[] ay) {
+		tree.build(sx, sy, sm, sources);
+		ParallelRange.run(pool, targets, GRAIN, new ParallelRange.Body() {
+			public void run(int from, int to) {
+				tree.accumulate(tx, ty, from, to, ax, ay);
+			}
+		});
+	}
+}
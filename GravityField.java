@@ -0,0 +1,189 @@
+import java.util.Arrays;
+
+/**
+ * GravityField is a precomputed grid of the gravitational acceleration due to
+ * bodies that never move, such as the Star. Their pull anywhere on the grid is
+ * then read by bilinear interpolation between the four surrounding grid
+ * points, which is a few memory reads instead of a square root and a division
+ * per body. Used by Gravity, which sums all moving bodies directly as usual.
+ * <p>
+ * Interpolating a field falling off with the square of distance over cells of
+ * width h has a relative error of about 3h^2/(4r^2) at distance r from the
+ * body. Within the distance where that exceeds the given error bound, and off
+ * the edge of the grid, the pull is instead summed exactly.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class GravityField {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// Position of the first grid point, spacing between points, and the
+	// number of points along each side.
+	private double left, top, cell;
+	private int columns, rows;
+	// Acceleration at each grid point, row by row.
+	private double[] fieldX, fieldY;
+	// Position and mass of every body in the field.
+	private double[] sourceX, sourceY, sourceMass;
+	private int sources;
+	// Squared distance from a body within which its pull is summed exactly.
+	private double exact2;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs an empty GravityField over a rectangle.
+	 *
+	 * @param left
+	 *            The x-coordinate of the left edge.
+	 * @param top
+	 *            The y-coordinate of the top edge.
+	 * @param width
+	 *            The width of the rectangle. Negatives are ignored.
+	 * @param height
+	 *            The height of the rectangle. Negatives are ignored.
+	 * @param cell
+	 *            The spacing of grid points, in pixels. Corrected to at least
+	 *            1.
+	 * @param errorBound
+	 *            The largest relative error allowed from interpolation.
+	 *            Corrected to at most 0.1.
+	 */
+	public GravityField(double left, double top, double width, double height,
+			double cell, double errorBound) {
+		this.left = left;
+		this.top = top;
+		this.cell = Math.max(1, cell);
+		columns = (int) Math.ceil(Math.abs(width) / this.cell) + 1;
+		rows = (int) Math.ceil(Math.abs(height) / this.cell) + 1;
+		fieldX = new double[columns * rows];
+		fieldY = new double[columns * rows];
+		double error = Math.min(0.1, Math.abs(errorBound));
+		// Never interpolate across the cells touching a body.
+		double exact = Math.max(2 * this.cell, this.cell
+				* Math.sqrt(0.75 / error));
+		exact2 = exact * exact;
+		sourceX = new double[1];
+		sourceY = new double[1];
+		sourceMass = new double[1];
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Removes every body from the field.
+	 */
+	public void clear() {
+		Arrays.fill(fieldX, 0);
+		Arrays.fill(fieldY, 0);
+		sources = 0;
+	}
+
+	/**
+	 * Adds the pull of a body at every grid point.
+	 *
+	 * @param x
+	 *            The x-coordinate of the body.
+	 * @param y
+	 *            The y-coordinate of the body.
+	 * @param mass
+	 *            The mass of the body.
+	 */
+	public void add(double x, double y, double mass) {
+		if (sources == sourceX.length) {
+			sourceX = Arrays.copyOf(sourceX, sources * 2);
+			sourceY = Arrays.copyOf(sourceY, sources * 2);
+			sourceMass = Arrays.copyOf(sourceMass, sources * 2);
+		}
+		sourceX[sources] = x;
+		sourceY[sources] = y;
+		sourceMass[sources] = mass;
+		sources++;
+		for (int r = 0; r < rows; r++) {
+			double dy = y - (top + r * cell);
+			for (int c = 0; c < columns; c++) {
+				double dx = x - (left + c * cell);
+				double f = GravityKernel.pull(mass, dx * dx + dy * dy);
+				fieldX[r * columns + c] += f * dx;
+				fieldY[r * columns + c] += f * dy;
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the number of bodies in the field.
+	 *
+	 * @return int The number of bodies.
+	 */
+	public int size() {
+		return sources;
+	}
+
+	/**
+	 * Adds the acceleration due to the field to each point in a range. Safe
+	 * to call from several threads at once, as long as no bodies are being
+	 * added.
+	 *
+	 * @param x
+	 *            The x-coordinate of each point.
+	 * @param y
+	 *            The y-coordinate of each point.
+	 * @param from
+	 *            The first point, inclusive.
+	 * @param to
+	 *            The last point, exclusive.
+	 * @param ax
+	 *            The horizontal acceleration at each point, added to.
+	 * @param ay
+	 *            The vertical acceleration at each point, added to.
+	 */
+	public void accumulate(double[] x, double[] y, int from, int to,
+			double[] ax, double[] ay) {
+		for (int i = from; i < to; i++) {
+			double u = (x[i] - left) / cell;
+			double v = (y[i] - top) / cell;
+			int c = (int) Math.floor(u);
+			int r = (int) Math.floor(v);
+			if (c < 0 || r < 0 || c >= columns - 1 || r >= rows - 1
+					|| isNear(x[i], y[i])) {
+				GravityKernel.accumulate(sourceX, sourceY, sourceMass,
+						sources, x, y, i, i + 1, ax, ay, false);
+				continue;
+			}
+			// Weights of the right and lower grid points.
+			u -= c;
+			v -= r;
+			int n = r * columns + c;
+			int s = n + columns;
+			ax[i] += (1 - v) * ((1 - u) * fieldX[n] + u * fieldX[n + 1]) + v
+					* ((1 - u) * fieldX[s] + u * fieldX[s + 1]);
+			ay[i] += (1 - v) * ((1 - u) * fieldY[n] + u * fieldY[n + 1]) + v
+					* ((1 - u) * fieldY[s] + u * fieldY[s + 1]);
+		}
+	}
+
+	// PRIVATE METHODS------------------------------------------------------
+
+	/**
+	 * Checks if a point is too close to any body in the field for
+	 * interpolation to be accurate.
+	 *
+	 * @param x
+	 *            The x-coordinate of the point.
+	 * @param y
+	 *            The y-coordinate of the point.
+	 * @return boolean True if the pull must be summed exactly.
+	 */
+	private boolean isNear(double x, double y) {
+		for (int j = 0; j < sources; j++) {
+			double dx = sourceX[j] - x;
+			double dy = sourceY[j] - y;
+			if (dx * dx + dy * dy < exact2) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,210 @@
+/**
+ * GravityKernel is the inner loop of direct gravity summation, working on
+ * primitive arrays of positions and masses. Possesses a fully static interface
+ * and cannot be extended. No instances should be created.
+ * <p>
+ * Sources are processed in lanes: source j is always summed into lane j % 4,
+ * and the four lane totals are combined in a fixed order at the end. The lane
+ * version of the loop handles four independent sources per iteration with no
+ * dependency between them, which lets the JIT compiler unroll and pipeline it.
+ * The scalar version visits sources one at a time but keeps exactly the same
+ * lanes and order of additions, so both give bit-for-bit identical results
+ * and may be swapped at any time.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public final class GravityKernel {
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Number of independent accumulators.
+	public static final int LANES = 4;
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Adds the gravitational acceleration due to every source to each target
+	 * in a range. Sources lying exactly on a target, such as the target
+	 * itself, exert no pull.
+	 *
+	 * @param sx
+	 *            The x-coordinate of each source.
+	 * @param sy
+	 *            The y-coordinate of each source.
+	 * @param sm
+	 *            The mass of each source.
+	 * @param sources
+	 *            The number of sources.
+	 * @param tx
+	 *            The x-coordinate of each target.
+	 * @param ty
+	 *            The y-coordinate of each target.
+	 * @param from
+	 *            The first target, inclusive.
+	 * @param to
+	 *            The last target, exclusive.
+	 * @param ax
+	 *            The horizontal acceleration of each target, added to.
+	 * @param ay
+	 *            The vertical acceleration of each target, added to.
+	 * @param lanes
+	 *            True to use the lane loop, false for the scalar loop.
+	 */
+	public static void accumulate(double[] sx, double[] sy, double[] sm,
+			int sources, double[] tx, double[] ty, int from, int to,
+			double[] ax, double[] ay, boolean lanes) {
+		for (int i = from; i < to; i++) {
+			if (lanes) {
+				accumulateLanes(sx, sy, sm, sources, tx[i], ty[i], ax, ay, i);
+			} else {
+				accumulateScalar(sx, sy, sm, sources, tx[i], ty[i], ax, ay, i);
+			}
+		}
+	}
+
+	// PRIVATE METHODS------------------------------------------------------
+
+	/**
+	 * Sums the pull on one target, four sources at a time.
+	 *
+	 * @param sx
+	 *            The x-coordinate of each source.
+	 * @param sy
+	 *            The y-coordinate of each source.
+	 * @param sm
+	 *            The mass of each source.
+	 * @param sources
+	 *            The number of sources.
+	 * @param x
+	 *            The x-coordinate of the target.
+	 * @param y
+	 *            The y-coordinate of the target.
+	 * @param ax
+	 *            The horizontal acceleration of each target.
+	 * @param ay
+	 *            The vertical acceleration of each target.
+	 * @param i
+	 *            The index of the target.
+	 */
+	private static void accumulateLanes(double[] sx, double[] sy, double[] sm,
+			int sources, double x, double y, double[] ax, double[] ay, int i) {
+		double ax0 = 0, ax1 = 0, ax2 = 0, ax3 = 0;
+		double ay0 = 0, ay1 = 0, ay2 = 0, ay3 = 0;
+		int blocked = sources - sources % LANES;
+		int j = 0;
+		for (; j < blocked; j += LANES) {
+			double dx0 = sx[j] - x, dy0 = sy[j] - y;
+			double dx1 = sx[j + 1] - x, dy1 = sy[j + 1] - y;
+			double dx2 = sx[j + 2] - x, dy2 = sy[j + 2] - y;
+			double dx3 = sx[j + 3] - x, dy3 = sy[j + 3] - y;
+			double f0 = pull(sm[j], dx0 * dx0 + dy0 * dy0);
+			double f1 = pull(sm[j + 1], dx1 * dx1 + dy1 * dy1);
+			double f2 = pull(sm[j + 2], dx2 * dx2 + dy2 * dy2);
+			double f3 = pull(sm[j + 3], dx3 * dx3 + dy3 * dy3);
+			ax0 += f0 * dx0;
+			ay0 += f0 * dy0;
+			ax1 += f1 * dx1;
+			ay1 += f1 * dy1;
+			ax2 += f2 * dx2;
+			ay2 += f2 * dy2;
+			ax3 += f3 * dx3;
+			ay3 += f3 * dy3;
+		}
+		// The remaining sources fill the first lanes.
+		for (; j < sources; j++) {
+			double dx = sx[j] - x, dy = sy[j] - y;
+			double f = pull(sm[j], dx * dx + dy * dy);
+			if (j % LANES == 0) {
+				ax0 += f * dx;
+				ay0 += f * dy;
+			} else if (j % LANES == 1) {
+				ax1 += f * dx;
+				ay1 += f * dy;
+			} else {
+				ax2 += f * dx;
+				ay2 += f * dy;
+			}
+		}
+		ax[i] += (ax0 + ax1) + (ax2 + ax3);
+		ay[i] += (ay0 + ay1) + (ay2 + ay3);
+	}
+
+	/**
+	 * Sums the pull on one target, one source at a time, in the same lanes as
+	 * accumulateLanes().
+	 *
+	 * @param sx
+	 *            The x-coordinate of each source.
+	 * @param sy
+	 *            The y-coordinate of each source.
+	 * @param sm
+	 *            The mass of each source.
+	 * @param sources
+	 *            The number of sources.
+	 * @param x
+	 *            The x-coordinate of the target.
+	 * @param y
+	 *            The y-coordinate of the target.
+	 * @param ax
+	 *            The horizontal acceleration of each target.
+	 * @param ay
+	 *            The vertical acceleration of each target.
+	 * @param i
+	 *            The index of the target.
+	 */
+	private static void accumulateScalar(double[] sx, double[] sy,
+			double[] sm, int sources, double x, double y, double[] ax,
+			double[] ay, int i) {
+		double ax0 = 0, ax1 = 0, ax2 = 0, ax3 = 0;
+		double ay0 = 0, ay1 = 0, ay2 = 0, ay3 = 0;
+		for (int j = 0; j < sources; j++) {
+			double dx = sx[j] - x, dy = sy[j] - y;
+			double f = pull(sm[j], dx * dx + dy * dy);
+			switch (j % LANES) {
+			case 0:
+				ax0 += f * dx;
+				ay0 += f * dy;
+				break;
+			case 1:
+				ax1 += f * dx;
+				ay1 += f * dy;
+				break;
+			case 2:
+				ax2 += f * dx;
+				ay2 += f * dy;
+				break;
+			default:
+				ax3 += f * dx;
+				ay3 += f * dy;
+			}
+		}
+		ax[i] += (ax0 + ax1) + (ax2 + ax3);
+		ay[i] += (ay0 + ay1) + (ay2 + ay3);
+	}
+
+	/**
+	 * Retrieves the factor which, multiplied by a displacement, gives the
+	 * acceleration towards a mass along it.
+	 *
+	 * @param mass
+	 *            The attracting mass.
+	 * @param d2
+	 *            The squared distance to it, in pixels.
+	 * @return double The acceleration divided by distance; zero if the
+	 *         distance is zero.
+	 */
+	static double pull(double mass, double d2) {
+		if (d2 == 0) {
+			return 0;
+		}
+		return CelestialBody.G * mass
+				/ (d2 * CelestialBody.METRES_PER_PIXEL_SQ * Math.sqrt(d2));
+	}
+
+	/**
+	 * GravityKernel cannot be instantiated.
+	 */
+	private GravityKernel() {
+	}
+}
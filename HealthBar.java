@@ -4,7 +4,8 @@ import java.awt.Color; //imports color functions
 /**
  * HealthBar helps to represent the health of each ship 
  * tracks the location of the desired ship target
- * Will redraw the healthbar based on the current health
+ * Will redraw the healthbar based on the health it is shown, which is held by the world's ShipStore
+ * HealthBars are recycled through the world's pool, so they are reset rather than constructed for each ship
  * 
  * @author Jack Ding
  * @version March 2014
@@ -13,9 +14,6 @@ public class HealthBar extends Actor {
 
     private GreenfootImage bar; //new GreenfootImage bar
 
-    private double max; //max HP 
-    private double curr; //current HP
-
     private int length = 30; //length of bar
     private int height = 5; //height of bar
 
@@ -32,26 +30,28 @@ public class HealthBar extends Actor {
     private Actor target; //tracking target of bar
 
     /**
-     * Constructs a new HealthBar based on the max, current health and the tracked actor target
-     * 
-     * @param topHP      maximum HP of the target
-     * 
-     * @param currHP    current HP of the target
+     * Constructs a new full HealthBar for the tracked actor target
      * 
      * @param tracked   actor being tracked 
      */
-    public HealthBar(int topHP, int currHP, Actor tracked) {
+    public HealthBar(Actor tracked) {
         bar = new GreenfootImage(length, height); //create bar as new image
 
+        reset(tracked); //assigns the target
+
+        this.setImage(bar); //sets the image to bar 
+    }
+
+    /**
+     * Readies a HealthBar for another ship, as if it was newly constructed, reusing its image
+     * 
+     * @param tracked   actor being tracked 
+     */
+    public void reset(Actor tracked) {
         bar.setColor(green); //set the bar's drawing color as green
         bar.fill(); //fill the bar with green as max health
 
-        this.max = topHP; //assigns topHP as max
         this.target = tracked; //assigns tracked as target
-
-        this.curr = currHP; //assigns currHP as curr
-
-        this.setImage(bar); //sets the image to bar 
     }
 
     /**
@@ -62,25 +62,20 @@ public class HealthBar extends Actor {
         if (target.getWorld() != null) { //if the target exists 
             setLocation(target.getX(), target.getY() - trackerShift); //sets the location with a vertical shift
         } else { //if target doesn't exist
-            getWorld().removeObject(this); //remove the bar
+            ((SolSystem) getWorld()).getCommands().remove(this); //remove the bar once everything has acted
         }
     }
 
     /**
-     * Updates the HP bar based on any desired changes in the HP
-     * Will redraw the bar based on changes in the current HP and changes in percentages of curr / max HPs
+     * Redraws the HP bar to show the given HP
+     * Will redraw the bar based on the percentage of current / max HP
      * sets new image to bar
      * 
-     * @param changeHP      the desired change in HP
-     *                      a positive value means an increase in HP, a negative value means a decrease
+     * @param curr      the current HP of the target
+     * 
+     * @param max       the maximum HP of the target
      */
-    public void update(int changeHP) {
-
-        curr = curr + changeHP; //changes current hp based on changeHP
-
-        if (curr >= max) { //if curr is greater or equal to max
-            curr = max; //assign curr to max
-        }
+    public void show(double curr, double max) {
 
         percentageHP =  (curr / max); //find percentageHP as value of current HP over max HP
 
@@ -96,14 +91,4 @@ public class HealthBar extends Actor {
         this.setImage(bar); //sets the image
 
     }
-    
-    /**
-     * sends out the current health of the actor
-     * 
-     * @return double       the health of the actor
-     */
-    public double getHealth()
-    {
-        return curr; //returns current health (curr)
-     }
 }
\ No newline at end of file
@@ -1,10 +1,7 @@
-import greenfoot.*;
-import java.util.ArrayList;
-
 /**
  * Helper is an assistant class that provides miscellaneous functionality for
- * certain mathematical or ArrayList management needs. Possesses a fully static
- * interface and cannot be extended. No instances should be created.
+ * certain mathematical needs. Possesses a fully static interface and cannot be
+ * extended. No instances should be created.
  * 
  * @author Teddy Zhu
  * @version Mar. 18, 2014
@@ -81,66 +78,17 @@ public final class Helper {
 	public static double correctToRangeWithExcess(double num, double min,
 			double max) {
 		double range = Math.abs(max - min);
-		// Recursive nature; will repeatedly adjust the number by units of range
-		// until it falls in range. This method maintains the excess amount.
-		if (num > max) {
-			return correctToRangeWithExcess(num - range, min, max);
-		} else if (num < min) {
-			return correctToRangeWithExcess(num + range, min, max);
-		}
-		// Once the excess is in range, the number is returned without further
-		// modification.
-		return num;
-	}
-
-	/**
-	 * Cleans up a reference list of Actors by removing any who are no longer in
-	 * a World and minimizing the size.
-	 * 
-	 * @param refs
-	 *            The references to be cleaned.
-	 * @return ArrayList<? extends Actor> The cleaned references.
-	 */
-	public static ArrayList<? extends Actor> cleanReferences(
-			ArrayList<? extends Actor> refs) {
-		ArrayList<? extends Actor> cleanedRefs = refs;
-		// Run through the references.
-		for (int i = 0; i < refs.size(); i++) {
-			// For any Actors who are no longer part of the world and have
-			// been removed from it,
-			if (refs.get(i).getWorld() == null) {
-				// Remove them from the reference list.
-				cleanedRefs.remove(i);
+		// Remove every whole unit of range at once, however far out of range
+		// the number is. This method maintains the excess amount.
+		if (num > max || num < min) {
+			// An empty range can only hold one value.
+			if (range == 0) {
+				return min;
 			}
+			return min + ((num - min) % range + range) % range;
 		}
-		// Shorten the list to the minimum size needed and remove empty spaces.
-		cleanedRefs.trimToSize();
-		// Return it.
-		return cleanedRefs;
-	}
-
-	/**
-	 * Clears a reference list of Actors by removing all of them from the World
-	 * and emptying it.
-	 * 
-	 * @param refs
-	 *            The references to be cleared.
-	 * @return ArrayList<? extends Actor> The empty reference list.
-	 */
-	public static ArrayList<? extends Actor> clearReferences(
-			ArrayList<? extends Actor> refs) {
-		ArrayList<? extends Actor> clearedRefs = refs;
-		// Run through the references.
-		for (int i = 0; i < refs.size(); i++) {
-			// Clear all Actors from world.
-			if (refs.get(i).getWorld() != null) {
-				clearedRefs.get(i).getWorld().removeObject(clearedRefs.get(i));
-			}
-		}
-		// Clear references.
-		// Return it.
-		clearedRefs.clear();
-		return clearedRefs;
+		// A number already in range is returned without modification.
+		return num;
 	}
 
 }
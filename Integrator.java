@@ -0,0 +1,29 @@
+/**
+ * Integrator advances the CelestialBodies of a BodyStore through time under
+ * gravity. Implementations are interchangeable and chosen by SolSystem, which
+ * hands over the length of a frame and the number of fixed sub-steps to split
+ * it into. Only bodies marked free in the store are moved; the rest are only
+ * sources of gravity.
+ * 
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public interface Integrator {
+
+	/**
+	 * Advances every free body in the store by one frame, recalculating
+	 * gravity through the given solver as needed.
+	 * 
+	 * @param store
+	 *            The store of bodies.
+	 * @param gravity
+	 *            The gravity solver, which writes accelerations into the
+	 *            store.
+	 * @param dt
+	 *            The length of the frame, in frames of simulation time.
+	 * @param steps
+	 *            The number of equal sub-steps the frame is split into. At
+	 *            least 1.
+	 */
+	public void advance(BodyStore store, Gravity gravity, double dt, int steps);
+}
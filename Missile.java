@@ -1,9 +1,13 @@
 import greenfoot.*; // (World, Actor, GreenfootImage, Greenfoot and MouseInfo)
 
+import java.util.ArrayList; //import arraylist
+
 /**
  * Missile is a class that is used in order to allow ships to attack either planets or each other
- * Will also check to see if missiles hit planets
- * Missile Collision Detection for other ships is contained in the Ship class / subclasses
+ * Will check to see if missiles hit unfriendly planets or ships
+ * Collisions are checked along the whole path moved each act, so fast missiles cannot skip past targets
+ * and only the first hostile target along that path is hit
+ * Missiles are recycled through the world's missile pool, so they are reset rather than constructed each shot
  * 
  * 
  * @author Jack Ding
@@ -14,6 +18,11 @@ public class Missile extends Actor {
     private int angle; //angle of the missile
     private Planet owner; //the Planet that is friendly to the missile
     private boolean remove = false; //boolean if missile should be removed
+    private int lastX, lastY; //where the missile was before its last move
+    private ArrayList<Actor> hits = new ArrayList<Actor>(); //actors along the last move in order of when they were hit, reused
+
+    private static final int SPEED = 5; //pixels moved per act at normal speed
+    private static final GreenfootImage IMG = new GreenfootImage("images/bullet.png"); //image shared by every missile, loaded once
 
     /**
      * Constructs a missle
@@ -22,27 +31,45 @@ public class Missile extends Actor {
      * @param owner         the specific planet that the missile will not affect as it is friendly
      */
     public Missile(int rotation, Planet owner) {
+        reset(rotation, owner); //assigns rotation and owner
+        // Set image.
+        setImage(IMG); //sets the image 
+    }
+
+    /**
+     * Readies a missile for another shot, as if it was newly constructed
+     * 
+     * @param rotation      the specific rotation of the actor that the missile belongs to
+     * @param owner         the specific planet that the missile will not affect as it is friendly
+     */
+    public void reset(int rotation, Planet owner) {
         this.angle = rotation; //assigns rotation parameter to angle
 
         this.owner = owner; //assigns owner parameter to owner
-        // Set image.
-        setImage(new GreenfootImage("images/bullet.png")); //sets the image 
+        remove = false; //a new shot should not be removed
     }
 
     /**
      * Act will do whatever the Missile wants to do
      * Will set the rotation to the correct angle 
-     * Will check for the collision with unfriendly planets
+     * Will check for the collision with unfriendly planets and ships
      * Will remove if necessary from the world
      */
     public void act() {
+        if (remove) { //if the missile hit something and is waiting to be removed
+            return; //does nothing more
+        }
    
         setRotation(angle); //sets to rotation to angle
 
-        move(5); //moves the missile foward in the direction its facing
+        lastX = getX(); //remembers where the move starts
+        lastY = getY();
+        move((int) Math.round(SPEED * ((SolSystem) getWorld()).getTimeScale())); //moves the missile foward in the direction its facing, faster when time is sped up
 
-        checkPlanetCollision(); //calls checkPlanetCollision method to see if it hits a planet
-        checkRid(); //calls checkRid method to see if it should be removed 
+        checkCollision(); //calls checkCollision method to see if it hits a planet or ship
+        if (!remove) { //if the missile hasnt hit anything
+            checkRid(); //calls checkRid method to see if it should be removed 
+        }
         
 
     }
@@ -67,22 +94,41 @@ public class Missile extends Actor {
     }
 
     /**
-     * Removes the missile from the world
+     * Arranges to have the missile removed from the world once everything has acted
      */
     public void removeMe() {
-        getWorld().removeObject(this); //removes the missile
+        ((SolSystem) getWorld()).getCommands().remove(this); //removes the missile, returning it to the pool
     }
 
     /**
-     * if atWorldEdge() returns as true, arranges to set remove to true 
-     * will eventually have missile from the world
+     * if atWorldEdge() returns as true, arranges to have the missile removed
      */
     public void checkRid() {
         if (atWorldEdge()) { //if its at the world edge
-            remove = true; //set remove to true
+            spend(); //the missile is done
         }
     }
     
+    /**
+     * Marks the missile as having hit something, so that it hits nothing else
+     * and arranges to have it removed
+     */
+    public void spend() {
+        if (!remove) { //if not already spent
+            remove = true; //set remove to true
+            removeMe(); //removes the missile once everything has acted
+        }
+    }
+
+    /**
+     * Checks to see if the missile has already hit something
+     * 
+     * @return boolean      true if the missile is spent
+     */
+    public boolean isSpent() {
+        return remove; //returns remove
+    }
+
     /**
      * Gets the friendly planet so that missiles wont harm friendlies
      * 
@@ -94,19 +140,25 @@ public class Missile extends Actor {
     }
     
     /**
-     * Will check to see if the missile collides with an unfriendly Planet
-     * If so, will cause planet damage 
+     * Will check to see if the missile hits an unfriendly Planet, Destroyer or Satellite anywhere along its last move
+     * Whichever of them it reaches first takes the hit: a planet takes planet damage, a ship takes the hit itself
      * Will also set remove to true to have it removed from world
      */
-    public void checkPlanetCollision()
+    public void checkCollision()
     {
-        Planet p = (Planet) getOneIntersectingObject (Planet.class); //creates a Planet that intersects the missile
-        
-        if (p !=null && p != owner) //if p exists and if p isn't friendly
-        {
-            p.attack(-30); //attack the planet with 30 dmg
-            remove = true; //set remove to true
-           }
+        ((SolSystem) getWorld()).getCollisions().getAlongPath(this, lastX, lastY, getX(), getY(), CollisionShape.getRadius(this), true, Actor.class, hits); //finds everything the missile swept through, in order, through the world's broadphase
+
+        for (Actor a : hits) {
+            if (a instanceof Planet && a != owner) //if a is an unfriendly planet
+            {
+                ((SolSystem) getWorld()).getCommands().damage(a, 30); //attack the planet with 30 dmg, once everything has acted
+                spend(); //the missile is done
+                return; //only the first target hit is damaged
+            }
+            if (a instanceof Ship && !(a instanceof Probe) && ((Ship) a).hit(this)) { //probes dont take missile damage
+                return; //the missile is gone after the first hit
+            }
+        }
     }
 
 }
\ No newline at end of file
@@ -15,7 +15,9 @@ public class Moon extends CelestialBody {
 							// determines the ultimate level. The accumulation
 							// of this value leads to the final level of
 							// civilazation
-	private double orbitPos = 0, orbitRad = 50, speed;
+	private double orbitRad = 50, speed;
+	private OrbitTrack track; // the position on the orbit, which moves by
+								// speed degrees every act
 
 	/**
 	 * The constructor of the moon
@@ -54,6 +56,7 @@ public class Moon extends CelestialBody {
 		if (Greenfoot.getRandomNumber(2) == 0) {
 			speed *= -1;
 		}
+		track = new OrbitTrack(0, speed);
 
 		setImage(new GreenfootImage("images/moon1.gif"));
 	}
@@ -83,15 +86,9 @@ public class Moon extends CelestialBody {
 			civilizationLevel++; // increase the civilazation by 1
 		}
 
-		if (this.owner != null) {
-			// owner.update(attackPower, resource, inLevel); //update the
-			// information of the moon to the owner(fake method for now)
-			orbit(this, owner, orbitPos, orbitRad, orbitRad);
-			orbitPos += speed;
-			if (orbitPos >= 360) {
-				orbitPos -= 360;
-			}
-		} else {
+		// a moon with an owner is moved about it by the owner, straight after
+		// the owner moves, so it only needs to wander when it has none
+		if (this.owner == null) {
 			// to randomly move the moon around if there's no owner of the moon
 			if (counter % 5 == 0) {
 				setLocation(this.getX() + (Math.random() * 5), this.getY()
@@ -105,15 +102,23 @@ public class Moon extends CelestialBody {
 		}
 	}
 
-	private void orbit(Actor obj, Actor src, double ellipseDeg, double radX,
-			double radY) {
-		// Convert degrees into radian measure for trigonometric functions.
-		double radian = (ellipseDeg * Math.PI / 180.0);
-		// Coordinates of the specified point on the orbital path.
-		double coordX = (src.getX() + (Math.cos(radian) * radX));
-		double coordY = (src.getY() + (Math.sin(radian) * radY));
+	/**
+	 * Moves the moon to its current point on its orbit around the owner, then
+	 * advances along the orbit. Called by the owner once it has moved
+	 * 
+	 * @param srcX
+	 *            The x coordinate of the owner
+	 * @param srcY
+	 *            The y coordinate of the owner
+	 */
+	public void orbit(int srcX, int srcY) {
+		// Coordinates of the current point of the track on the orbital path.
+		double coordX = (srcX + (track.getCos() * orbitRad));
+		double coordY = (srcY + (track.getSin() * orbitRad));
 		// Set the location.
-		obj.setLocation((int) Math.round(coordX), (int) Math.round(coordY));
+		setLocation((int) Math.round(coordX), (int) Math.round(coordY));
+		track.advance(); // the track rotates its sine and cosine along
+							// without any trig
 	}
 
 }
\ No newline at end of file
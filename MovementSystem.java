@@ -0,0 +1,65 @@
+import greenfoot.*;
+
+/**
+ * MovementSystem turns and moves every Ship in a ShipStore towards what it
+ * is aiming at this frame, in one loop over the store. Ships turn to face
+ * their aim, and Destroyers approaching a Planet close in until they are near
+ * enough to fire. Satellites with nothing to aim at turn idly while their
+ * Planet carries them around its orbit. Results are written back to each
+ * Ship so that it is drawn in the right place.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class MovementSystem {
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Distance, in pixels, from a Planet at which a Destroyer stops closing
+	// in, and how far it moves each frame until then.
+	private static final double APPROACH_DISTANCE = 100;
+	private static final int APPROACH_SPEED = 2;
+	// Greatest idle turn of a Satellite each frame, in degrees.
+	private static final int IDLE_TURN = 3;
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Turns and moves every Ship. Called by the World once per frame, after
+	 * the TargetingSystem.
+	 *
+	 * @param ships
+	 *            The Ships.
+	 */
+	public void run(ShipStore ships) {
+		int n = ships.size();
+		for (int i = 0; i < n; i++) {
+			Actor aim = ships.aim[i];
+			if (aim != null) {
+				double dx = aim.getX() - ships.x[i];
+				double dy = aim.getY() - ships.y[i];
+				// Normalised as getRotation() is, so that a Ship already facing
+				// its aim is not turned again.
+				int heading = ((int) Math.toDegrees(Math.atan2(dy, dx)) + 360)
+						% 360;
+				if (heading != (int) ships.heading[i]) {
+					ships.get(i).setRotation(heading);
+				}
+				if (ships.approach[i]
+						&& Math.hypot(dx, dy) > APPROACH_DISTANCE) {
+					// Step along the heading as Actor.move() would.
+					double r = Math.toRadians(ships.heading[i]);
+					int stepX = (int) Math.round(Math.cos(r) * APPROACH_SPEED);
+					int stepY = (int) Math.round(Math.sin(r) * APPROACH_SPEED);
+					ships.get(i).setLocation((int) ships.x[i] + stepX,
+							(int) ships.y[i] + stepY);
+				}
+			} else if (ships.type[i] == ShipStore.TYPE_SATELLITE) {
+				int turn = Greenfoot.getRandomNumber(IDLE_TURN + 1);
+				if (turn != 0) {
+					ships.get(i).setRotation((int) ships.heading[i] + turn);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,253 @@
+import greenfoot.*;
+import java.util.Arrays;
+
+/**
+ * NearestIndex finds the nearest Actor of one kind to a point, such as the
+ * nearest enemy Destroyer to a Ship. It is a k-d tree over the positions of
+ * its Actors, rebuilt once per frame by the World, which answers each query
+ * by descending towards the point and only visiting branches that could
+ * still hold something closer. A query costs time logarithmic in the number
+ * of Actors, rather than the linear scan of a list from getObjectsInRange().
+ * <p>
+ * Every Actor is added along with an owner, usually the Planet it belongs
+ * to, so that queries may leave out friendly Actors.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class NearestIndex<T extends Actor> implements TargetIndex<T> {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// Every Actor with its position and owner, as of the last rebuild.
+	private Actor[] actors;
+	private Object[] owners;
+	private double[] posX, posY;
+	private int count;
+	// Entries in tree order. The entry splitting any range is at its middle,
+	// dividing by x at even depths and by y at odd depths.
+	private int[] order;
+	// State of the current query.
+	private double queryX, queryY, best2;
+	private Object exclude;
+	private int best;
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Initial number of entries.
+	private static final int INITIAL_ENTRIES = 32;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs an empty NearestIndex.
+	 */
+	public NearestIndex() {
+		actors = new Actor[INITIAL_ENTRIES];
+		owners = new Object[INITIAL_ENTRIES];
+		posX = new double[INITIAL_ENTRIES];
+		posY = new double[INITIAL_ENTRIES];
+		order = new int[INITIAL_ENTRIES];
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Removes every Actor.
+	 */
+	public void clear() {
+		Arrays.fill(actors, 0, count, null);
+		Arrays.fill(owners, 0, count, null);
+		count = 0;
+	}
+
+	/**
+	 * Adds an Actor at its current position. The index must be rebuilt before
+	 * it is found by queries.
+	 *
+	 * @param a
+	 *            The Actor to be added. Must be in a World.
+	 * @param owner
+	 *            The owner of the Actor, or null for none.
+	 */
+	public void add(T a, Object owner) {
+		if (count == actors.length) {
+			int size = count * 2;
+			actors = Arrays.copyOf(actors, size);
+			owners = Arrays.copyOf(owners, size);
+			posX = Arrays.copyOf(posX, size);
+			posY = Arrays.copyOf(posY, size);
+			order = Arrays.copyOf(order, size);
+		}
+		actors[count] = a;
+		owners[count] = owner;
+		posX[count] = a.getX();
+		posY[count] = a.getY();
+		count++;
+	}
+
+	/**
+	 * Rebuilds the tree from every Actor added since the last clear().
+	 */
+	public void build() {
+		for (int i = 0; i < count; i++) {
+			order[i] = i;
+		}
+		build(0, count, 0);
+	}
+
+	/**
+	 * Finds the nearest Actor to a point within a range, leaving out those
+	 * with a given owner and those removed from the World since the rebuild.
+	 *
+	 * @param x
+	 *            The x-coordinate of the point.
+	 * @param y
+	 *            The y-coordinate of the point.
+	 * @param maxRange
+	 *            The greatest distance to look.
+	 * @param excludeOwner
+	 *            The owner whose Actors are left out, or null for none.
+	 * @return T The nearest Actor, or null if there is none in range.
+	 */
+	@SuppressWarnings("unchecked")
+	public T nearest(double x, double y, double maxRange, Object excludeOwner) {
+		queryX = x;
+		queryY = y;
+		best2 = maxRange * maxRange;
+		exclude = excludeOwner;
+		best = -1;
+		search(0, count, 0);
+		exclude = null;
+		return best < 0 ? null : (T) actors[best];
+	}
+
+	/**
+	 * Retrieves the distance to the Actor found by the last query, from its
+	 * position as of the last rebuild.
+	 *
+	 * @return double The distance, or the range of the query if nothing was
+	 *         found.
+	 */
+	public double getLastDistance() {
+		return Math.sqrt(best2);
+	}
+
+	/**
+	 * Retrieves the number of Actors in the index.
+	 *
+	 * @return int The number of Actors.
+	 */
+	public int size() {
+		return count;
+	}
+
+	// PRIVATE METHODS------------------------------------------------------
+
+	/**
+	 * Arranges a range of the tree so that its middle entry splits the rest
+	 * along the axis for its depth, then arranges both halves.
+	 *
+	 * @param lo
+	 *            The first entry, inclusive.
+	 * @param hi
+	 *            The last entry, exclusive.
+	 * @param depth
+	 *            The depth of the range in the tree.
+	 */
+	private void build(int lo, int hi, int depth) {
+		while (hi - lo > 1) {
+			int mid = (lo + hi) >>> 1;
+			double[] axis = (depth % 2 == 0) ? posX : posY;
+			select(lo, hi, mid, axis);
+			build(lo, mid, depth + 1);
+			// Continue with the upper half without recursing.
+			lo = mid + 1;
+			depth++;
+		}
+	}
+
+	/**
+	 * Partially sorts a range of the tree so that the entry at position k is
+	 * the one that would be there if sorted along an axis, with smaller
+	 * entries before it and larger ones after.
+	 *
+	 * @param lo
+	 *            The first entry, inclusive.
+	 * @param hi
+	 *            The last entry, exclusive.
+	 * @param k
+	 *            The position to be filled.
+	 * @param axis
+	 *            The coordinates to sort by.
+	 */
+	private void select(int lo, int hi, int k, double[] axis) {
+		hi--;
+		while (hi > lo) {
+			double pivot = axis[order[(lo + hi) >>> 1]];
+			int i = lo;
+			int j = hi;
+			while (i <= j) {
+				while (axis[order[i]] < pivot) {
+					i++;
+				}
+				while (axis[order[j]] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					int t = order[i];
+					order[i] = order[j];
+					order[j] = t;
+					i++;
+					j--;
+				}
+			}
+			if (k <= j) {
+				hi = j;
+			} else if (k >= i) {
+				lo = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Searches a range of the tree for anything nearer than the best found
+	 * so far, visiting the half holding the query point first.
+	 *
+	 * @param lo
+	 *            The first entry, inclusive.
+	 * @param hi
+	 *            The last entry, exclusive.
+	 * @param depth
+	 *            The depth of the range in the tree.
+	 */
+	private void search(int lo, int hi, int depth) {
+		if (lo >= hi) {
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		int e = order[mid];
+		double dx = posX[e] - queryX;
+		double dy = posY[e] - queryY;
+		double d2 = dx * dx + dy * dy;
+		if (d2 <= best2 && (exclude == null || owners[e] != exclude)
+				&& actors[e].getWorld() != null) {
+			best2 = d2;
+			best = e;
+		}
+		double split = (depth % 2 == 0) ? dx : dy;
+		if (split > 0) {
+			search(lo, mid, depth + 1);
+			if (split * split <= best2) {
+				search(mid + 1, hi, depth + 1);
+			}
+		} else {
+			search(mid + 1, hi, depth + 1);
+			if (split * split <= best2) {
+				search(lo, mid, depth + 1);
+			}
+		}
+	}
+}
@@ -0,0 +1,96 @@
+import java.util.Arrays;
+
+/**
+ * ObjectPool keeps objects that are no longer in use so that they can be
+ * handed out again, instead of creating new ones and leaving the old ones as
+ * garbage. Used by the World for short-lived Actors such as Missiles, which
+ * are created and removed in large numbers during combat.
+ * <p>
+ * Objects are created by a Factory when the pool is empty. Whoever acquires
+ * an object is responsible for resetting it, and it must not be used again
+ * once released. Only a limited number are kept idle; any released beyond
+ * that are left to the garbage collector.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class ObjectPool<T> {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// Creates objects when none are idle.
+	private Factory<T> factory;
+	// Idle objects, ready to be handed out.
+	private Object[] idle;
+	private int count;
+	// Greatest number of objects kept idle.
+	private int capacity;
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Largest initial size of the idle array.
+	private static final int INITIAL_IDLE = 16;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs an empty ObjectPool.
+	 *
+	 * @param factory
+	 *            Creates objects when none are idle.
+	 * @param capacity
+	 *            The greatest number of objects kept idle. Corrected to at
+	 *            least 0.
+	 */
+	public ObjectPool(Factory<T> factory, int capacity) {
+		this.factory = factory;
+		this.capacity = Math.max(0, capacity);
+		idle = new Object[Math.min(this.capacity, INITIAL_IDLE)];
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Hands out an idle object, or a new one if there are none.
+	 *
+	 * @return T The object, which should be reset before use.
+	 */
+	@SuppressWarnings("unchecked")
+	public T acquire() {
+		if (count > 0) {
+			T item = (T) idle[--count];
+			idle[count] = null;
+			return item;
+		}
+		return factory.create();
+	}
+
+	/**
+	 * Takes back an object no longer in use. Each object must only be
+	 * released once for each time it is acquired.
+	 *
+	 * @param item
+	 *            The object.
+	 */
+	public void release(T item) {
+		if (count == capacity) {
+			return;
+		}
+		if (count == idle.length) {
+			idle = Arrays.copyOf(idle, Math.min(capacity, count * 2 + 1));
+		}
+		idle[count++] = item;
+	}
+
+	/**
+	 * Creates objects for an ObjectPool.
+	 */
+	public interface Factory<T> {
+		/**
+		 * Creates a new object.
+		 *
+		 * @return T The object.
+		 */
+		public T create();
+	}
+}
@@ -0,0 +1,147 @@
+/**
+ * OrbitTrack follows an angle that advances by a constant step every frame,
+ * and provides its sine and cosine without calling trigonometric functions
+ * each time. Used by orbiting Actors such as Moons and Satellites, which are
+ * numerous and each move by a fixed angle per frame.
+ * <p>
+ * The sine and cosine are held as a unit vector, which is rotated each frame
+ * by multiplying it with the precomputed sine and cosine of the step, as with
+ * complex numbers. Rounding would slowly change its length and phase, so every
+ * few steps it is recomputed exactly from the tracked angle instead.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class OrbitTrack {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// Current angle and the step it advances by, in degrees.
+	private double angle, step;
+	// Cosine and sine of the angle and of the step.
+	private double cos, sin, cosStep, sinStep;
+	// Steps taken since the last exact recalculation.
+	private int sinceExact;
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Steps between exact recalculations of the sine and cosine.
+	private static final int EXACT_INTERVAL = 32;
+	// Smallest change in step treated as a new step rather than rounding.
+	private static final double STEP_TOLERANCE = 1e-9;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs an OrbitTrack.
+	 *
+	 * @param angle
+	 *            The starting angle, in degrees.
+	 * @param step
+	 *            The change in angle per advance, in degrees.
+	 */
+	public OrbitTrack(double angle, double step) {
+		setStep(step);
+		setAngle(angle);
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Advances the angle by one step.
+	 */
+	public void advance() {
+		rotateTo(angle + step);
+	}
+
+	/**
+	 * Advances the angle to a new value, which is expected to be one step on
+	 * from the current one. If the difference is a different step, it becomes
+	 * the new step. Used to follow an angle given as a function of time.
+	 *
+	 * @param angle
+	 *            The new angle, in degrees.
+	 */
+	public void advanceTo(double angle) {
+		double delta = Helper.correctToRangeWithExcess(angle - this.angle,
+				-180.0, 180.0);
+		if (Math.abs(delta - step) > STEP_TOLERANCE) {
+			setStep(delta);
+		}
+		rotateTo(angle);
+	}
+
+	/**
+	 * Sets the angle, calculating its sine and cosine exactly.
+	 *
+	 * @param angle
+	 *            The angle, in degrees.
+	 */
+	public void setAngle(double angle) {
+		this.angle = Helper.correctToRangeWithExcess(angle, 0.0, 360.0);
+		double radian = Math.toRadians(this.angle);
+		cos = Math.cos(radian);
+		sin = Math.sin(radian);
+		sinceExact = 0;
+	}
+
+	/**
+	 * Sets the change in angle per advance.
+	 *
+	 * @param step
+	 *            The step, in degrees.
+	 */
+	public void setStep(double step) {
+		this.step = step;
+		double radian = Math.toRadians(step);
+		cosStep = Math.cos(radian);
+		sinStep = Math.sin(radian);
+	}
+
+	/**
+	 * Retrieves the current angle.
+	 *
+	 * @return double The angle, in degrees, from 0 to 360.
+	 */
+	public double getAngle() {
+		return angle;
+	}
+
+	/**
+	 * Retrieves the cosine of the current angle.
+	 *
+	 * @return double The cosine.
+	 */
+	public double getCos() {
+		return cos;
+	}
+
+	/**
+	 * Retrieves the sine of the current angle.
+	 *
+	 * @return double The sine.
+	 */
+	public double getSin() {
+		return sin;
+	}
+
+	// PRIVATE METHODS------------------------------------------------------
+
+	/**
+	 * Moves to the angle one step on, rotating the sine and cosine by the
+	 * step, or recalculating them exactly if enough steps have passed.
+	 *
+	 * @param next
+	 *            The angle one step on, in degrees.
+	 */
+	private void rotateTo(double next) {
+		if (++sinceExact >= EXACT_INTERVAL) {
+			setAngle(next);
+		} else {
+			double c = cos * cosStep - sin * sinStep;
+			sin = sin * cosStep + cos * sinStep;
+			cos = c;
+			angle = Helper.correctToRangeWithExcess(next, 0.0, 360.0);
+		}
+	}
+}
@@ -0,0 +1,107 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ParallelRange runs a piece of work over a range of indices on a
+ * ForkJoinPool, by splitting the range in half until each chunk is no larger
+ * than a given grain. Used by the physics phase of the World to spread work
+ * over bodies across every core.
+ * <p>
+ * Work given to a ParallelRange must only write to the indices in the chunk it
+ * is handed, and must treat each index the same no matter which chunk it falls
+ * in. Results are then identical to running the whole range at once, however
+ * many threads the pool has.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class ParallelRange extends RecursiveAction {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// The work to be done.
+	private Body body;
+	// The range of indices, and the size below which it is not split.
+	private int from, to, grain;
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Version of the serialized form, which is never used.
+	private static final long serialVersionUID = 1L;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs a task for a range of indices.
+	 *
+	 * @param body
+	 *            The work to be done.
+	 * @param from
+	 *            The first index, inclusive.
+	 * @param to
+	 *            The last index, exclusive.
+	 * @param grain
+	 *            The largest chunk that is not split further.
+	 */
+	private ParallelRange(Body body, int from, int to, int grain) {
+		this.body = body;
+		this.from = from;
+		this.to = to;
+		this.grain = grain;
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Runs work over the indices from 0 to count-1, in parallel if a pool is
+	 * given and there are more indices than a single grain.
+	 *
+	 * @param pool
+	 *            The pool to run on. Null runs on the calling thread.
+	 * @param count
+	 *            The number of indices.
+	 * @param grain
+	 *            The largest chunk handed to a single thread. At least 1.
+	 * @param body
+	 *            The work to be done.
+	 */
+	public static void run(ForkJoinPool pool, int count, int grain, Body body) {
+		grain = Math.max(1, grain);
+		if (pool == null || count <= grain) {
+			body.run(0, count);
+		} else {
+			pool.invoke(new ParallelRange(body, 0, count, grain));
+		}
+	}
+
+	/**
+	 * Work over a chunk of indices.
+	 */
+	public interface Body {
+		/**
+		 * Does the work for a chunk of indices.
+		 *
+		 * @param from
+		 *            The first index, inclusive.
+		 * @param to
+		 *            The last index, exclusive.
+		 */
+		public void run(int from, int to);
+	}
+
+	// FORK/JOIN STRUCTURE--------------------------------------------------
+
+	/**
+	 * Runs the chunk directly if it is small enough, otherwise splits it in
+	 * half and runs both halves in parallel.
+	 */
+	protected void compute() {
+		if (to - from <= grain) {
+			body.run(from, to);
+		} else {
+			int mid = (from + to) >>> 1;
+			invokeAll(new ParallelRange(body, from, mid, grain),
+					new ParallelRange(body, mid, to, grain));
+		}
+	}
+}
@@ -3,6 +3,7 @@ import java.awt.Graphics2D;
 import java.awt.RadialGradientPaint;
 import java.awt.geom.Ellipse2D;
 import java.util.ArrayList;
+import java.util.List;
 import greenfoot.*;
 
 /**
@@ -37,10 +38,13 @@ public class Planet extends CelestialBody {
 	private boolean allowFreedom, allowGrav, ascended;
 	// Name of the planet.
 	private String name;
-	// Assets associated with this Planet.
-	private ArrayList<Satellite> satellites;
-	private ArrayList<Destroyer> destroyers;
-	private ArrayList<Probe> probes;
+	// Assets associated with this Planet. Ships leave their list as soon as
+	// they leave the World.
+	private EntityList<Satellite> satellites;
+	private EntityList<Destroyer> destroyers;
+	private EntityList<Probe> probes;
+	// Planets in grazing range, reused every frame.
+	private ArrayList<Planet> neighbours = new ArrayList<Planet>();
 	private Moon[] moons;
 	private Star sun;
 	private Log status;
@@ -51,8 +55,13 @@ public class Planet extends CelestialBody {
 	// Orbital variation for each planet. Angular position on the orbital path
 	// and its rate of change, and angular orientation of the path itself and
 	// its rate of change, along with radii of the orbital path ellipse.
+	// Positions are those held at the epoch, the simulation time at which the
+	// orbit was set; the orbit at any other time is worked out from them.
 	private double orbitPos, orbitSpeed, pathPos, pathSpeed, orbitRadX,
-			orbitRadY;
+			orbitRadY, orbitEpoch;
+	// Sine and cosine of the current position on the path and orientation of
+	// the path, followed from frame to frame.
+	private OrbitTrack orbitTrack, pathTrack;
 	// Counter for periodic activity.
 	private long counter = 0;
 	// Health and Shielding bar.
@@ -112,9 +121,9 @@ public class Planet extends CelestialBody {
 		allowLife = supportsLife;
 		name = generateName();
 		// Asset reference lists.
-		satellites = new ArrayList<Satellite>(0);
-		destroyers = new ArrayList<Destroyer>(0);
-		probes = new ArrayList<Probe>(0);
+		satellites = new EntityList<Satellite>();
+		destroyers = new EntityList<Destroyer>();
+		probes = new EntityList<Probe>();
 		moons = new Moon[0];
 		this.sun = sun;
 		// Set up GUI objects.
@@ -127,6 +136,8 @@ public class Planet extends CelestialBody {
 		pathSpeed = 0;
 		orbitRadX = 100;
 		orbitRadY = 100;
+		orbitTrack = new OrbitTrack(orbitPos, orbitSpeed);
+		pathTrack = new OrbitTrack(pathPos, pathSpeed);
 	}
 
 	/**
@@ -176,9 +187,14 @@ public class Planet extends CelestialBody {
 		// Magnitudes taken.
 		this.orbitRadX = Math.abs(orbitRadX);
 		this.orbitRadY = Math.abs(orbitRadY);
+		// The orbit starts from here at the current simulation time.
+		orbitEpoch = getTime();
+		orbitTrack = new OrbitTrack(this.orbitPos, orbitSpeed);
+		pathTrack = new OrbitTrack(this.pathPos, pathSpeed);
 		// Set position to point on orbital path.
-		orbit(this, sun, this.orbitPos, this.orbitRadX, this.orbitRadY,
-				this.pathPos);
+		place(this, sun, orbitTrack.getCos(), orbitTrack.getSin(),
+				this.orbitRadX, this.orbitRadY, pathTrack.getCos(),
+				pathTrack.getSin());
 	}
 
 	/**
@@ -439,30 +455,51 @@ public class Planet extends CelestialBody {
 	public void breakOrbit() {
 		if (!allowGrav) {
 			allowGrav = true;
+			setFreeFall(true);
 			// Initial velocity is tangential to current orbital path, for
 			// smooth transition.
 			setVelocity(getOrbitalTangent(5));
 		}
 	}
 
+	/**
+	 * Moves the Planet for this frame, then moves its Moons and Satellites
+	 * about its new position. Called by the World once per frame, parent
+	 * first, so that owned assets never lag a frame behind the Planet.
+	 */
+	public void updateTransform() {
+		move();
+		int x = getX();
+		int y = getY();
+		// Every child is offset from the same parent position.
+		for (int i = 0; i < moons.length; i++) {
+			if (moons[i] != null && moons[i].getWorld() != null) {
+				moons[i].orbit(x, y);
+			}
+		}
+		for (int i = 0; i < satellites.size(); i++) {
+			Satellite s = satellites.get(i);
+			s.updateCenter(x, y);
+			s.orbit(90);
+		}
+	}
+
 	/**
 	 * Destroys the Planet and all of its owned assets, removing them from the
-	 * World.
+	 * World at the start of the next frame.
 	 */
-	@SuppressWarnings("unchecked")
 	public void destroy() {
+		CommandBuffer commands = world.getCommands();
 		// Removing Ships, Moons, and health/shielding bars.
-		satellites = (ArrayList<Satellite>) Helper.clearReferences(satellites);
-		destroyers = (ArrayList<Destroyer>) Helper.clearReferences(destroyers);
-		probes = (ArrayList<Probe>) Helper.clearReferences(probes);
+		satellites.removeAll(commands);
+		destroyers.removeAll(commands);
+		probes.removeAll(commands);
 		for (int i = 0; i < moons.length; i++) {
-			world.removeObject(moons[i]);
+			commands.remove(moons[i]);
 		}
-		world.removeObject(bars);
+		commands.remove(bars);
 		// Removing self.
-		if (getWorld() != null) {
-			world.removeObject(this);
-		}
+		commands.remove(this);
 	}
 
 	// PRIVATE METHODS-----------------------------------------------
@@ -477,9 +514,6 @@ public class Planet extends CelestialBody {
 	 * @return Vector Tangential velocity.
 	 */
 	private Vector getOrbitalTangent(double magnitude) {
-		// Set up vector and magnitude.
-		Vector tangent = new Vector();
-		tangent.setMagnitude(Math.abs(magnitude));
 		// Record the current position on orbit.
 		int prevX = getX();
 		int prevY = getY();
@@ -487,12 +521,14 @@ public class Planet extends CelestialBody {
 		// course.
 		// Angular magnitude is 2 and signum allows the current orbiting
 		// direction to be maintained.
-		orbit(this, sun, orbitPos + 2 * Math.signum(orbitSpeed), orbitRadX,
-				orbitRadY, pathPos);
-		// Create a Vector from the linear direction between the previous
-		// position and the current one.
-		tangent.setDirection(Helper.getAngle(prevX, prevY, getX(), getY()));
-		return tangent;
+		double elapsed = getTime() - orbitEpoch;
+		orbit(this, sun, orbitPos + orbitSpeed * elapsed + 2
+				* Math.signum(orbitSpeed), orbitRadX, orbitRadY, pathPos
+				+ pathSpeed * elapsed);
+		// Create a Vector of the given magnitude along the linear direction
+		// between the previous position and the current one.
+		return new Vector(Math.abs(magnitude), Helper.getAngle(prevX, prevY,
+				getX(), getY()), false);
 	}
 
 	/**
@@ -518,22 +554,79 @@ public class Planet extends CelestialBody {
 	private void orbit(Actor obj, Actor src, double ellipseDeg, double radX,
 			double radY, double pathRotation) {
 		// Convert degrees into radian measure for trigonometric functions.
-		double radian = (ellipseDeg * Math.PI / 180.0);
-		double rotation = (pathRotation * Math.PI / 180.0);
-		// Coordinates of the specified point on the orbital path.
-		double coordX = (src.getX() + (Math.cos(radian) * radX));
-		double coordY = (src.getY() + (Math.sin(radian) * radY));
+		double radian = Math.toRadians(Helper.correctToRangeWithExcess(
+				ellipseDeg, 0.0, 360.0));
+		double rotation = Math.toRadians(Helper.correctToRangeWithExcess(
+				pathRotation, 0.0, 360.0));
+		place(obj, src, Math.cos(radian), Math.sin(radian), radX, radY,
+				Math.cos(rotation), Math.sin(rotation));
+	}
+
+	/**
+	 * Sets the position of an Actor to some point on an elliptical orbital path
+	 * around a source, given the sines and cosines of the angles involved.
+	 * 
+	 * @param obj
+	 *            The orbiting Actor.
+	 * @param src
+	 *            The source Actor to be orbited.
+	 * @param cosPos
+	 *            The cosine of the angular position on the path.
+	 * @param sinPos
+	 *            The sine of the angular position on the path.
+	 * @param radX
+	 *            The horizontal radius.
+	 * @param radY
+	 *            The vertical radius.
+	 * @param cosRot
+	 *            The cosine of the angular orientation of the path.
+	 * @param sinRot
+	 *            The sine of the angular orientation of the path.
+	 */
+	private void place(Actor obj, Actor src, double cosPos, double sinPos,
+			double radX, double radY, double cosRot, double sinRot) {
+		// Offset of the specified point on the orbital path from the source.
+		double offX = cosPos * radX;
+		double offY = sinPos * radY;
 		// Rotate this point about the source to newly transformed coordinates,
 		// which rotates the orbital path.
-		double coordXRotated = (coordX - src.getX()) * Math.cos(rotation)
-				- (coordY - src.getY()) * Math.sin(rotation) + src.getX();
-		double coordYRotated = (coordX - src.getX()) * Math.sin(rotation)
-				+ (coordY - src.getY()) * Math.cos(rotation) + src.getY();
+		double coordXRotated = offX * cosRot - offY * sinRot + src.getX();
+		double coordYRotated = offX * sinRot + offY * cosRot + src.getY();
 		// Set the location.
 		obj.setLocation((int) Math.round(coordXRotated),
 				(int) Math.round(coordYRotated));
 	}
 
+	/**
+	 * Sets the position of the Planet to where its orbit places it at a given
+	 * simulation time. The angles depend only on the time, so any time may
+	 * be evaluated directly without stepping through the ones before it. Their
+	 * sines and cosines are followed by OrbitTracks, which only need
+	 * trigonometry when the rate the angles change at does.
+	 * 
+	 * @param t
+	 *            The simulation time.
+	 */
+	private void orbitAt(double t) {
+		double elapsed = t - orbitEpoch;
+		orbitTrack.advanceTo(orbitPos + orbitSpeed * elapsed);
+		pathTrack.advanceTo(pathPos + pathSpeed * elapsed);
+		place(this, sun, orbitTrack.getCos(), orbitTrack.getSin(), orbitRadX,
+				orbitRadY, pathTrack.getCos(), pathTrack.getSin());
+	}
+
+	/**
+	 * Retrieves the simulation time of the World the Planet is in.
+	 * 
+	 * @return double The simulation time, or 0 if not in a World.
+	 */
+	private double getTime() {
+		if (getWorld() == null) {
+			return 0;
+		}
+		return ((SolSystem) getWorld()).getTime();
+	}
+
 	/**
 	 * Moves the Planet in a gradually rotating orbital about the sun. If
 	 * permitted, allows gravity effects or independent motion.
@@ -544,23 +637,16 @@ public class Planet extends CelestialBody {
 		// behavior.
 		this.getImage().rotate(2);
 		if (allowFreedom) {
-			setLocation(getX() + speed.getX(), getY() + speed.getY());
+			setLocation(getExactX() + getVelocityX(), getExactY()
+					+ getVelocityY());
 			// Independence overrides all other behaviors.
-			// Here, if orbit is broken and gravity is on, leave physics
-			// behaviors to superclass engine.
-			
-		} else if (allowGrav) {
-			super.act();
+			// Here, if orbit is broken and gravity is on, physics behaviors
+			// are left to the world's integrator, which has already moved the
+			// Planet this frame.
+		} else if (!allowGrav) {
 			// Otherwise, orbit mathematically as usual.
-		} else {
-			// Orbit about the sun.
-			orbit(this, sun, orbitPos, orbitRadX, orbitRadY, pathPos);
-			// Change orbital position and path rotation by set speed.
-			orbitPos += orbitSpeed;
-			pathPos += pathSpeed;
-			// Constrain degree angles to within a full circle.
-			orbitPos = Helper.correctToRangeWithExcess(orbitPos, 0.0, 360.0);
-			pathPos = Helper.correctToRangeWithExcess(pathPos, 0.0, 360.0);
+			// Orbit about the sun, at the point given by the current time.
+			orbitAt(getTime());
 		}
 	}
 
@@ -635,49 +721,20 @@ public class Planet extends CelestialBody {
 	}
 
 	/**
-	 * Spawns a Ship of the specified type at this Planet.
+	 * Spawns a wave of Ships of the specified type at this Planet at the
+	 * start of the next frame.
 	 * 
-	 * @param ship
-	 *            The Class of the Ship needed. If any other Class is passed,
-	 *            nothing will happen.
-	 */
-	private void spawnShip(Class<? extends Ship> ship) {
-		// If Probe is either the same as, or is a superclass of, the passed
-		// Class parameter;
-		if (Probe.class.isAssignableFrom(ship)) {
-			// Add a new Probe to the reference list and;
-			probes.add(new Probe(this, 120 * civStage));
-			// This most recent addition must be the final element and have
-			// index size-1 because the references are trimmed down to clear
-			// off all empty spaces every act() iteration. Thus the most
-			// recent addition must have expanded the size.
-			// Now add it to the world.
-			world.addObject(probes.get(probes.size() - 1), getX(), getY());
-		}
-		// Do the same with remaining possibilities.
-		else if (Satellite.class.isAssignableFrom(ship)) {
-			satellites.add(new Satellite(this, 500 * civStage));
-			world.addObject(satellites.get(satellites.size() - 1), getX(),
-					getY());
-		} else if (Destroyer.class.isAssignableFrom(ship)) {
-			destroyers.add(new Destroyer(this, 350 * civStage));
-			world.addObject(destroyers.get(destroyers.size() - 1), getX(),
-					getY());
-		}
-	}
-
-	/**
-	 * Cleans up the reference lists by removing all destroyed Ships and
-	 * shortening the list to remove empty spots.
+	 * @param type
+	 *            The Class of the Ships needed.
+	 * @param count
+	 *            The number of Ships in the wave.
+	 * @param list
+	 *            The reference list the Ships are added to.
 	 */
-	@SuppressWarnings("unchecked")
-	private void updateRefs() {
-		probes = (ArrayList<Probe>) Helper
-				.cleanReferences((ArrayList<? extends Actor>) probes);
-		satellites = (ArrayList<Satellite>) Helper
-				.cleanReferences((ArrayList<? extends Actor>) satellites);
-		destroyers = (ArrayList<Destroyer>) Helper
-				.cleanReferences((ArrayList<? extends Actor>) destroyers);
+	private <T extends Ship> void spawnShips(Class<T> type, int count,
+			EntityList<T> list) {
+		world.getCommands().spawnMany(type, this, count,
+				new int[] { getX(), getY() }, list);
 	}
 
 	/**
@@ -692,17 +749,17 @@ public class Planet extends CelestialBody {
 			if (civStage >= 1 && counter % 500 == 0) {
 				// Maximum number of this Ship;
 				if (probes.size() < civStage * 3) {
-					spawnShip(Probe.class);
+					spawnShips(Probe.class, 1, probes);
 				}
 				if (satellites.size() < civStage + 1) {
-					spawnShip(Satellite.class);
+					spawnShips(Satellite.class, 1, satellites);
 				}
 			}
 			// For a minimum of stage 2; every 700 frames;
 			if (civStage >= 2 && counter % 700 == 0) {
 				// Maximum number.
 				if (destroyers.size() < civStage * 2) {
-					spawnShip(Destroyer.class);
+					spawnShips(Destroyer.class, 1, destroyers);
 				}
 				// Reset counter as this condition has highest modulus.
 				counter = 0;
@@ -724,14 +781,13 @@ public class Planet extends CelestialBody {
 			if (civStage >= 4 && !allowFreedom) {
 				// Become independent.
 				allowFreedom = true;
+				setFreeFall(false);
 				// If gravity is active, there is no orbit to get a tangent from
 				// so;
 				if (allowGrav) {
-					// Set the speed to aim towards the sun and;
-					setVelocity(new Vector(5, Helper.getAngle(getX(), getY(),
-							sun.getX(), sun.getY()), false));
-					// Reverse it to turn away.
-					speed.reverseDirection();
+					// Set the speed to aim directly away from the sun.
+					setVelocity(new Vector(5, Helper.getAngle(sun.getX(),
+							sun.getY(), getX(), getY()), false));
 				} else {
 					// Otherwise get a tangential velocity and use that.
 					setVelocity(getOrbitalTangent(5));
@@ -765,16 +821,13 @@ public class Planet extends CelestialBody {
 	/**
 	 * Leeches resource from lower-level civilizations within proximity.
 	 */
-	@SuppressWarnings("unchecked")
 	private void graze() {
 		// If this civilization is at least stage 1;
 		if (hasCiv && civStage >= 1) {
 			// Collect all planets within a certain range that is dependent on
-			// amount of resource.
-			ArrayList<Planet> planets = new ArrayList<Planet>(
-					getObjectsInRange(
-							(int) Math.ceil(20 * Math.log10(resource)),
-							Planet.class));
+			// amount of resource, from the world's proximity graph.
+			List<Planet> planets = world.getProximity().getNeighbours(this,
+					(int) Math.ceil(20 * Math.log10(resource)), neighbours);
 			// If some are found,
 			if (planets.size() > 0) {
 				// Go through the list and,
@@ -785,10 +838,9 @@ public class Planet extends CelestialBody {
 						// act() iteration.
 						long transfer = (long) Math.pow(2,
 								Math.abs(civStage - p.getCivStage()));
-						// Transfer resource to self.
-						resource += transfer;
-						// Drain other planet.
-						p.changeResource(-transfer);
+						// Drain other planet and transfer resource to self,
+						// once every Planet has acted.
+						world.getCommands().transfer(p, this, transfer);
 					}
 				}
 			}
@@ -798,15 +850,12 @@ public class Planet extends CelestialBody {
 	/**
 	 * Checks for destruction of life or the Planet when health is zero.
 	 */
-	@SuppressWarnings("unchecked")
 	private void checkDeath() {
 		if (health <= 0) {
 			// For both cases, remove all ships.
-			satellites = (ArrayList<Satellite>) Helper
-					.clearReferences(satellites);
-			destroyers = (ArrayList<Destroyer>) Helper
-					.clearReferences(destroyers);
-			probes = (ArrayList<Probe>) Helper.clearReferences(probes);
+			satellites.removeAll(world.getCommands());
+			destroyers.removeAll(world.getCommands());
+			probes.removeAll(world.getCommands());
 			if (hasCiv) {
 				// When wiping out civilization, send it back to evolution
 				// stages.
@@ -830,7 +879,7 @@ public class Planet extends CelestialBody {
 			} else {
 				// If health hits zero on one with no life, destroy the Planet
 				// and create an asteroid explosion.
-				world.spawnAsteroidsAt(getX(), getY());
+				explode();
 				world.prompt(name + " was destroyed.");
 				destroy();
 				return;
@@ -838,6 +887,24 @@ public class Planet extends CelestialBody {
 		}
 	}
 
+	/**
+	 * Breaks the Planet up into several asteroids with outwards velocity
+	 * vectors, in an explosion type effect. They appear at the start of the
+	 * next frame.
+	 */
+	private void explode() {
+		// The number of asteroids to be spawned, all at the same point.
+		int spawnCount = Greenfoot.getRandomNumber(4) + 4;
+		Vector[] velocities = new Vector[spawnCount];
+		for (int i = 0; i < spawnCount; i++) {
+			// The initial velocity is a random direction in a full circle.
+			velocities[i] = new Vector(Greenfoot.getRandomNumber(5) + 1,
+					Greenfoot.getRandomNumber(360), false);
+		}
+		world.getCommands().spawnMany(Asteroid.class, null, spawnCount,
+				new int[] { getX(), getY() }, velocities);
+	}
+
 	/**
 	 * Checks if Stage Four was reached and Planet has left the system and acts
 	 * appropriately.
@@ -926,8 +993,6 @@ public class Planet extends CelestialBody {
 		evolveLife();
 		checkStageUp();
 		growAndRegen();
-		updateRefs();
-		move();
 		graze();
 		checkAndActivateSkills();
 		linkBars();
@@ -942,7 +1007,7 @@ public class Planet extends CelestialBody {
 		// Retrieve world reference for ease of use.
 		world = (SolSystem) getWorld();
 		// Set position to point on orbital path.
-		orbit(this, sun, orbitPos, orbitRadX, orbitRadY, pathPos);
+		orbitAt(getTime());
 		// Add status log with self.
 		world.addObject(status, 820, 520);
 		status.hide();
@@ -1019,8 +1084,8 @@ public class Planet extends CelestialBody {
 			if (target != null && target.getWorld() != null) {
 				setLocation(target.getX(), target.getY());
 			} else {
-				// Otherwise remove it.
-				getWorld().removeObject(this);
+				// Otherwise remove it, once everything has acted.
+				((SolSystem) getWorld()).getCommands().remove(this);
 			}
 		}
 	}
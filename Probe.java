@@ -1,4 +1,3 @@
-import java.util.List;
 import greenfoot.*; // (World, Actor, GreenfootImage, Greenfoot and MouseInfo)
 
 /**
@@ -20,30 +19,27 @@ public class Probe extends Ship {
 	// Changed return type of detect, added null optional.
 	// Removed block in for loop that should only be inside the if and not
 	// outside as well, put call in act().
-	private double distance;
 	private int maxCap;
 	private int cap;
-	private CelestialBody nearestResource;
 
 	/**
 	 * Act - do whatever the Probes wants to do. This method is called whenever
 	 * the 'Act' or 'Run' button gets pressed in the environment.
 	 */
 	public void act() {
-		detectResources();
 		// check if I'm at the edge of the world,and if so, remove myself
+		// once everything has acted
 		if (atSpaceEdge()) {
-			getWorld().removeObject(this);
+			removeMe();
 		}
 	}
 
 	/**
-	 * method that creates a hp bar for probes
+	 * method that creates a probe for the given planet
 	 */
 	public Probe(Planet owner, int maxHP) {
 		super(owner);
 		this.maxHP = maxHP;
-		hp = new HealthBar(currHP, this.maxHP, this);
 		// Image.
 		setImage(new GreenfootImage(1, 1));
 	}
@@ -63,28 +59,12 @@ public class Probe extends Ship {
 			return false;
 	}
 
-	public CelestialBody detectResources() {
-		double nearestDistance;
-		List<CelestialBody> resources = getObjectsInRange(400,
-				CelestialBody.class);
-		if (resources.size() != 0) {
-			nearestDistance = Double.POSITIVE_INFINITY;
-
-			for (int i = 0; i < resources.size(); i++) {
-				distance = getDistance(resources.get(i));
-
-				if (!(resources.get(i) instanceof Planet && ((Planet) resources
-						.get(i)).hasCiv())) {
-					if (distance < nearestDistance) {
-						nearestDistance = distance;
-
-						nearestResource = resources.get(i);
-					}
-
-				}
-				return nearestResource;
-			}
-		}
-		return null;
+	/**
+	 * Method that gives the kind of ship
+	 * 
+	 * @return int ShipStore.TYPE_PROBE
+	 */
+	protected int getShipType() {
+		return ShipStore.TYPE_PROBE;
 	}
 }
\ No newline at end of file
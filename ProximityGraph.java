@@ -0,0 +1,284 @@
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ProximityGraph keeps track of which Planets lie near each other, so that a
+ * Planet grazing on its neighbours only looks at those actually close by,
+ * rather than searching the whole World every frame. Each Planet that asks
+ * is given a list of candidate neighbours, built with a radius padded by a
+ * margin called the skin. The list stays valid while the Planet's own radius
+ * grows by less than the skin allows and no Planet has moved far, so it only
+ * needs rebuilding now and then.
+ * <p>
+ * Each Planet has a reference position of its own, and two Planets are
+ * linked as candidates of each other while their reference positions lie
+ * within the larger of their radii. Once a Planet drifts a quarter of the
+ * skin from its reference, only that Planet is moved to its new position and
+ * relinked, which patches its own list and those of the Planets it leaves or
+ * joins. Candidates are always tested against current positions, so results
+ * match an exact search.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class ProximityGraph {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// Extra radius each list is built with, in pixels.
+	private double skin;
+	// Every Planet with its reference position, and its slot in these arrays.
+	private Planet[] planets;
+	private double[] refX, refY;
+	private int count;
+	private Map<Planet, Integer> slots;
+	// Candidate neighbours of each Planet by slot, how many there are, and
+	// the radius the Planet asked for them within. A negative radius means
+	// the Planet has not asked.
+	private int[][] edges;
+	private int[] degree;
+	private double[] builtRadius;
+	// Last update in which each Planet was found in the World.
+	private int[] seen;
+	private int updates;
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Initial number of Planets and of candidates per Planet.
+	private static final int INITIAL_PLANETS = 16;
+	private static final int INITIAL_EDGES = 4;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs an empty ProximityGraph.
+	 *
+	 * @param skin
+	 *            The extra radius each list of neighbours is built with, in
+	 *            pixels. Larger skins rebuild less often but test more
+	 *            candidates. Negatives are ignored.
+	 */
+	public ProximityGraph(double skin) {
+		this.skin = Math.abs(skin);
+		planets = new Planet[INITIAL_PLANETS];
+		refX = new double[INITIAL_PLANETS];
+		refY = new double[INITIAL_PLANETS];
+		edges = new int[INITIAL_PLANETS][];
+		degree = new int[INITIAL_PLANETS];
+		builtRadius = new double[INITIAL_PLANETS];
+		seen = new int[INITIAL_PLANETS];
+		slots = new IdentityHashMap<Planet, Integer>();
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Brings the graph up to date with the Planets in the World, after they
+	 * have moved for this frame. New Planets are linked in, those gone are
+	 * unlinked, and those that have drifted too far are relinked.
+	 *
+	 * @param list
+	 *            Every Planet in the World.
+	 */
+	public void update(List<Planet> list) {
+		updates++;
+		for (int i = 0; i < list.size(); i++) {
+			Planet p = list.get(i);
+			Integer slot = slots.get(p);
+			int s = slot == null ? add(p) : slot;
+			seen[s] = updates;
+		}
+		// Remove from the end, so that no Planet is moved before it is
+		// checked.
+		for (int s = count - 1; s >= 0; s--) {
+			if (seen[s] != updates) {
+				remove(s);
+			}
+		}
+		double margin = skin / 4;
+		for (int s = 0; s < count; s++) {
+			double dx = planets[s].getX() - refX[s];
+			double dy = planets[s].getY() - refY[s];
+			if (dx * dx + dy * dy > margin * margin) {
+				relink(s);
+			}
+		}
+	}
+
+	/**
+	 * Finds every other Planet whose centre lies within a distance of a
+	 * Planet's centre, as with Actor.getObjectsInRange(). The Planet is
+	 * relinked first if the distance has grown past what its list covers.
+	 *
+	 * @param p
+	 *            The Planet at the centre.
+	 * @param radius
+	 *            The distance.
+	 * @param out
+	 *            A list which is cleared and then receives the results.
+	 * @return List The list given. Empty if the Planet was not in the World
+	 *         at the last update.
+	 */
+	public List<Planet> getNeighbours(Planet p, double radius, List<Planet> out) {
+		out.clear();
+		Integer slot = slots.get(p);
+		if (slot == null || radius < 0) {
+			return out;
+		}
+		int s = slot;
+		// A Planet now within the radius has a reference position within the
+		// radius plus the greatest drift of both, half the skin.
+		if (radius + skin / 2 > builtRadius[s]) {
+			builtRadius[s] = radius + skin;
+			relink(s);
+		}
+		int[] list = edges[s];
+		for (int k = 0; k < degree[s]; k++) {
+			Planet q = planets[list[k]];
+			if (q.getWorld() == null) {
+				continue;
+			}
+			double dx = q.getX() - p.getX();
+			double dy = q.getY() - p.getY();
+			if (dx * dx + dy * dy <= radius * radius) {
+				out.add(q);
+			}
+		}
+		return out;
+	}
+
+	// PRIVATE METHODS------------------------------------------------------
+
+	/**
+	 * Takes in a new Planet, which has not asked for neighbours yet, and
+	 * links it to the Planets that have.
+	 *
+	 * @param p
+	 *            The Planet.
+	 * @return int The slot of the Planet.
+	 */
+	private int add(Planet p) {
+		if (count == planets.length) {
+			int size = count * 2;
+			planets = Arrays.copyOf(planets, size);
+			refX = Arrays.copyOf(refX, size);
+			refY = Arrays.copyOf(refY, size);
+			edges = Arrays.copyOf(edges, size);
+			degree = Arrays.copyOf(degree, size);
+			builtRadius = Arrays.copyOf(builtRadius, size);
+			seen = Arrays.copyOf(seen, size);
+		}
+		int s = count++;
+		planets[s] = p;
+		degree[s] = 0;
+		builtRadius[s] = -1;
+		slots.put(p, s);
+		relink(s);
+		return s;
+	}
+
+	/**
+	 * Takes out a Planet that has left the World, unlinking it and moving
+	 * the last Planet into its slot.
+	 *
+	 * @param s
+	 *            The slot of the Planet.
+	 */
+	private void remove(int s) {
+		unlink(s);
+		slots.remove(planets[s]);
+		int last = --count;
+		if (s != last) {
+			planets[s] = planets[last];
+			refX[s] = refX[last];
+			refY[s] = refY[last];
+			builtRadius[s] = builtRadius[last];
+			seen[s] = seen[last];
+			int[] list = edges[s];
+			edges[s] = edges[last];
+			edges[last] = list;
+			degree[s] = degree[last];
+			// Point the neighbours of the moved Planet at its new slot.
+			for (int k = 0; k < degree[s]; k++) {
+				int[] other = edges[edges[s][k]];
+				for (int j = 0; j < degree[edges[s][k]]; j++) {
+					if (other[j] == last) {
+						other[j] = s;
+					}
+				}
+			}
+			slots.put(planets[s], s);
+		}
+		planets[last] = null;
+		degree[last] = 0;
+	}
+
+	/**
+	 * Takes a Planet's current position as its reference and links it anew
+	 * to every Planet whose reference lies within the larger of their radii.
+	 * Only the lists of this Planet and of the Planets it leaves or joins are
+	 * changed.
+	 *
+	 * @param s
+	 *            The slot of the Planet.
+	 */
+	private void relink(int s) {
+		unlink(s);
+		refX[s] = planets[s].getX();
+		refY[s] = planets[s].getY();
+		for (int i = 0; i < count; i++) {
+			double radius = Math.max(builtRadius[s], builtRadius[i]);
+			if (i == s || radius < 0) {
+				continue;
+			}
+			double dx = refX[i] - refX[s];
+			double dy = refY[i] - refY[s];
+			if (dx * dx + dy * dy <= radius * radius) {
+				link(s, i);
+				link(i, s);
+			}
+		}
+	}
+
+	/**
+	 * Removes every link of a Planet, from both ends.
+	 *
+	 * @param s
+	 *            The slot of the Planet.
+	 */
+	private void unlink(int s) {
+		int[] list = edges[s];
+		for (int k = 0; k < degree[s]; k++) {
+			int i = list[k];
+			int[] other = edges[i];
+			for (int j = 0; j < degree[i]; j++) {
+				if (other[j] == s) {
+					other[j] = other[--degree[i]];
+					break;
+				}
+			}
+		}
+		degree[s] = 0;
+	}
+
+	/**
+	 * Adds one Planet to the candidates of another.
+	 *
+	 * @param s
+	 *            The slot of the Planet whose list is added to.
+	 * @param i
+	 *            The slot of the candidate.
+	 */
+	private void link(int s, int i) {
+		int[] list = edges[s];
+		if (list == null) {
+			list = new int[INITIAL_EDGES];
+		} else if (degree[s] == list.length) {
+			list = Arrays.copyOf(list, degree[s] * 2);
+		}
+		list[degree[s]++] = i;
+		edges[s] = list;
+	}
+}
@@ -0,0 +1,380 @@
+import java.util.Arrays;
+
+/**
+ * QuadTree is a Barnes-Hut gravity solver for CelestialBodies. It is rebuilt
+ * once per frame by Gravity from the positions and masses of every body in the
+ * world, after which the gravitational acceleration at any point may be
+ * queried in logarithmic time. Used for large numbers of bodies, where exact
+ * pairwise summation becomes too slow.
+ * <p>
+ * Every node of the tree records the total mass and centre of mass of all
+ * bodies inside its square. When querying, a node whose width divided by its
+ * distance from the query point is smaller than the opening angle theta is
+ * treated as a single point mass; otherwise its children are visited. A theta
+ * of zero degenerates into exact pairwise summation, while larger values trade
+ * accuracy for speed.
+ * <p>
+ * Storage is held in flat arrays that are reused between frames, so rebuilding
+ * the tree does not create garbage once the arrays have grown large enough.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class QuadTree {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// Opening angle criterion.
+	private double theta;
+	// Node data. Centre and half width of each square, the total mass and
+	// centre of mass contained within it, the index of its first of four
+	// consecutive children (-1 for leaves), and the first body in a leaf.
+	private double[] nodeX, nodeY, nodeHalf, nodeMass, comX, comY;
+	private int[] child, first;
+	private int nodeCount;
+	// Body data. Position and mass of every inserted body, as passed to
+	// build(), and the next body sharing the same leaf, which only happens at
+	// maximum depth.
+	private double[] bodyX, bodyY, bodyMass;
+	private int[] next;
+	private int bodyCount;
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Maximum subdivision depth. Bodies sharing a leaf at this depth are kept
+	// in a list instead of subdividing further, which guards against bodies
+	// spawned on the same point.
+	private static final int MAX_DEPTH = 24;
+	// Initial array capacities.
+	private static final int INITIAL_BODIES = 64;
+	private static final int INITIAL_NODES = 256;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs an empty QuadTree with the given opening angle.
+	 *
+	 * @param theta
+	 *            The opening angle criterion. Negatives are ignored.
+	 */
+	public QuadTree(double theta) {
+		this.theta = Math.abs(theta);
+		next = new int[INITIAL_BODIES];
+		nodeX = new double[INITIAL_NODES];
+		nodeY = new double[INITIAL_NODES];
+		nodeHalf = new double[INITIAL_NODES];
+		nodeMass = new double[INITIAL_NODES];
+		comX = new double[INITIAL_NODES];
+		comY = new double[INITIAL_NODES];
+		child = new int[INITIAL_NODES];
+		first = new int[INITIAL_NODES];
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Sets the opening angle. Takes effect on the next query.
+	 *
+	 * @param theta
+	 *            The opening angle criterion. Negatives are ignored.
+	 */
+	public void setTheta(double theta) {
+		this.theta = Math.abs(theta);
+	}
+
+	/**
+	 * Rebuilds the tree from the given positions and masses. The arrays are
+	 * referenced rather than copied, so they must not change until the tree
+	 * is rebuilt again.
+	 *
+	 * @param x
+	 *            The x-coordinate of each body.
+	 * @param y
+	 *            The y-coordinate of each body.
+	 * @param mass
+	 *            The mass of each body.
+	 * @param count
+	 *            The number of bodies, from the start of each array.
+	 */
+	public void build(double[] x, double[] y, double[] mass, int count) {
+		bodyX = x;
+		bodyY = y;
+		bodyMass = mass;
+		bodyCount = count;
+		if (next.length < count) {
+			next = new int[Math.max(count, next.length * 2)];
+		}
+		// Find the bounds of all bodies.
+		double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < count; i++) {
+			minX = Math.min(minX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxX = Math.max(maxX, x[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+		// The root is a square around every body, padded slightly so that no
+		// body lies on its outer edge.
+		nodeCount = 0;
+		if (count == 0) {
+			newNode(0, 0, 1);
+			return;
+		}
+		double half = Math.max(maxX - minX, maxY - minY) / 2 + 1;
+		newNode((minX + maxX) / 2, (minY + maxY) / 2, half);
+		// Insert bodies one at a time, then total the masses bottom-up.
+		for (int i = 0; i < count; i++) {
+			insert(i);
+		}
+		summarize();
+	}
+
+	/**
+	 * Adds the gravitational acceleration due to every body in the tree to
+	 * each point in a range. Safe to call from several threads at once, as
+	 * long as the tree is not being rebuilt.
+	 *
+	 * @param x
+	 *            The x-coordinate of each point.
+	 * @param y
+	 *            The y-coordinate of each point.
+	 * @param from
+	 *            The first point, inclusive.
+	 * @param to
+	 *            The last point, exclusive.
+	 * @param ax
+	 *            The horizontal acceleration at each point, added to.
+	 * @param ay
+	 *            The vertical acceleration at each point, added to.
+	 */
+	public void accumulate(double[] x, double[] y, int from, int to,
+			double[] ax, double[] ay) {
+		// Each caller walks the tree with its own stack.
+		int[] own = newStack();
+		double[] out = new double[2];
+		for (int i = from; i < to; i++) {
+			accelerationAt(x[i], y[i], out, own);
+			ax[i] += out[0];
+			ay[i] += out[1];
+		}
+	}
+
+	// PRIVATE METHODS------------------------------------------------------
+
+	/**
+	 * Calculates the gravitational acceleration at a point due to every body
+	 * in the tree, using the given traversal stack. Bodies lying exactly on
+	 * the point, such as the body asking, are ignored.
+	 *
+	 * @param x
+	 *            The x-coordinate of the point.
+	 * @param y
+	 *            The y-coordinate of the point.
+	 * @param out
+	 *            Receives the x and y components of the acceleration.
+	 * @param stack
+	 *            A traversal stack from newStack().
+	 */
+	private void accelerationAt(double x, double y, double[] out, int[] stack) {
+		double ax = 0, ay = 0;
+		double theta2 = theta * theta;
+		int top = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			int n = stack[--top];
+			if (nodeMass[n] == 0) {
+				continue;
+			}
+			if (child[n] < 0) {
+				// Leaves are summed exactly, body by body.
+				for (int b = first[n]; b >= 0; b = next[b]) {
+					double dx = bodyX[b] - x;
+					double dy = bodyY[b] - y;
+					double d2 = dx * dx + dy * dy;
+					if (d2 > 0) {
+						double f = GravityKernel.pull(bodyMass[b], d2);
+						ax += f * dx;
+						ay += f * dy;
+					}
+				}
+				continue;
+			}
+			double dx = comX[n] - x;
+			double dy = comY[n] - y;
+			double d2 = dx * dx + dy * dy;
+			double width = 2 * nodeHalf[n];
+			// A distant node that does not contain the point is approximated
+			// by its centre of mass; otherwise it is opened.
+			if (!contains(n, x, y) && width * width < theta2 * d2) {
+				double f = GravityKernel.pull(nodeMass[n], d2);
+				ax += f * dx;
+				ay += f * dy;
+			} else {
+				for (int q = 0; q < 4; q++) {
+					stack[top++] = child[n] + q;
+				}
+			}
+		}
+		out[0] = ax;
+		out[1] = ay;
+	}
+
+	/**
+	 * Creates a traversal stack deep enough for any query.
+	 *
+	 * @return int[] An empty stack.
+	 */
+	private static int[] newStack() {
+		return new int[3 * MAX_DEPTH + 4];
+	}
+
+	/**
+	 * Inserts a body into the tree, subdividing leaves as needed.
+	 *
+	 * @param b
+	 *            The index of the body.
+	 */
+	private void insert(int b) {
+		int n = 0;
+		int depth = 0;
+		while (true) {
+			if (child[n] >= 0) {
+				// Descend into the quadrant holding the body.
+				n = child[n] + quadrant(n, bodyX[b], bodyY[b]);
+				depth++;
+			} else if (first[n] < 0) {
+				// Empty leaf; claim it.
+				first[n] = b;
+				next[b] = -1;
+				return;
+			} else if (depth >= MAX_DEPTH) {
+				// Too deep to separate; share the leaf.
+				next[b] = first[n];
+				first[n] = b;
+				return;
+			} else {
+				// Occupied leaf; split it and move the occupant down, then
+				// try again from the same node.
+				int occupant = first[n];
+				first[n] = -1;
+				subdivide(n);
+				int c = child[n] + quadrant(n, bodyX[occupant], bodyY[occupant]);
+				first[c] = occupant;
+				next[occupant] = -1;
+			}
+		}
+	}
+
+	/**
+	 * Totals the mass and centre of mass of every node. Children are always
+	 * created after their parents, so a reverse pass visits them first.
+	 */
+	private void summarize() {
+		for (int n = nodeCount - 1; n >= 0; n--) {
+			double m = 0, mx = 0, my = 0;
+			if (child[n] < 0) {
+				for (int b = first[n]; b >= 0; b = next[b]) {
+					m += bodyMass[b];
+					mx += bodyMass[b] * bodyX[b];
+					my += bodyMass[b] * bodyY[b];
+				}
+			} else {
+				for (int q = 0; q < 4; q++) {
+					int c = child[n] + q;
+					m += nodeMass[c];
+					mx += nodeMass[c] * comX[c];
+					my += nodeMass[c] * comY[c];
+				}
+			}
+			nodeMass[n] = m;
+			if (m > 0) {
+				comX[n] = mx / m;
+				comY[n] = my / m;
+			} else {
+				comX[n] = nodeX[n];
+				comY[n] = nodeY[n];
+			}
+		}
+	}
+
+	/**
+	 * Splits a leaf into four empty children.
+	 *
+	 * @param n
+	 *            The index of the leaf.
+	 */
+	private void subdivide(int n) {
+		double h = nodeHalf[n] / 2;
+		// Children must be allocated before linking, as arrays may grow.
+		int c = newNode(nodeX[n] - h, nodeY[n] - h, h);
+		newNode(nodeX[n] + h, nodeY[n] - h, h);
+		newNode(nodeX[n] - h, nodeY[n] + h, h);
+		newNode(nodeX[n] + h, nodeY[n] + h, h);
+		child[n] = c;
+	}
+
+	/**
+	 * Retrieves which of a node's four children a point falls into, in the
+	 * order created by subdivide().
+	 *
+	 * @param n
+	 *            The index of the node.
+	 * @param x
+	 *            The x-coordinate of the point.
+	 * @param y
+	 *            The y-coordinate of the point.
+	 * @return int The quadrant, from 0 to 3.
+	 */
+	private int quadrant(int n, double x, double y) {
+		return (x >= nodeX[n] ? 1 : 0) + (y >= nodeY[n] ? 2 : 0);
+	}
+
+	/**
+	 * Checks if a point lies within a node's square.
+	 *
+	 * @param n
+	 *            The index of the node.
+	 * @param x
+	 *            The x-coordinate of the point.
+	 * @param y
+	 *            The y-coordinate of the point.
+	 * @return boolean True if the point is inside, otherwise false.
+	 */
+	private boolean contains(int n, double x, double y) {
+		return Math.abs(x - nodeX[n]) <= nodeHalf[n]
+				&& Math.abs(y - nodeY[n]) <= nodeHalf[n];
+	}
+
+	/**
+	 * Creates a new empty leaf node, growing the node arrays if needed.
+	 *
+	 * @param x
+	 *            The x-coordinate of its centre.
+	 * @param y
+	 *            The y-coordinate of its centre.
+	 * @param half
+	 *            Half of its width.
+	 * @return int The index of the new node.
+	 */
+	private int newNode(double x, double y, double half) {
+		if (nodeCount == child.length) {
+			int size = child.length * 2;
+			nodeX = Arrays.copyOf(nodeX, size);
+			nodeY = Arrays.copyOf(nodeY, size);
+			nodeHalf = Arrays.copyOf(nodeHalf, size);
+			nodeMass = Arrays.copyOf(nodeMass, size);
+			comX = Arrays.copyOf(comX, size);
+			comY = Arrays.copyOf(comY, size);
+			child = Arrays.copyOf(child, size);
+			first = Arrays.copyOf(first, size);
+		}
+		int n = nodeCount++;
+		nodeX[n] = x;
+		nodeY[n] = y;
+		nodeHalf[n] = half;
+		nodeMass[n] = 0;
+		child[n] = -1;
+		first[n] = -1;
+		return n;
+	}
+}
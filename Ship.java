@@ -1,32 +1,24 @@
 import greenfoot.*; // (World, Actor, GreenfootImage, Greenfoot and MouseInfo)
-import java.util.List; //import java list utilities
 
 /**
  * Ship is the superclass that controls all non-celestial bodies
  * Includes the probes, satellies, and destroyers
  * Allows bodies to shoot enemies, detect them, and remove them if necessary
+ * While in a SolSystem, each ship is a view over its slot in the world's ShipStore
+ * Targeting, movement and shooting are done for every ship at once by the world's ship systems
  * 
  * @author Jack Ding
  * @version March 2014
  */
 public abstract class Ship extends Actor {
    
-
-    protected int shootCounter = 0; //int controls the rate at which the ships shoot 
-
-   
     protected Planet owner; //Planet identifies which planet each ship belongs to, identifies friendlies
 
     protected HealthBar hp; //Healthbar hp represents the health of each ship
-    protected int maxHP; //int ship's maximum possible health
-    protected int currHP; //int ship's current health
+    protected int maxHP; //int ship's maximum possible health, which it starts with
 
-    
-    protected Destroyer nearestDestroyer; //the closest Destroyer to the ship
-    protected int range; //range of seeking for different enemies
-    
-    protected double destroyerDistance; //distance of the Destroyer currently being analyzed
-    protected double nearestDistanceDestroyer; //distance of the closest Destroyer so far
+    private ShipStore store; //the world's store of ship state that this ship is a view over, null while not in a SolSystem
+    private int handle = -1; //the slot of this ship in the store
     
     /**
      * Constructs a ship with an assigned home base of Planet
@@ -38,50 +30,118 @@ public abstract class Ship extends Actor {
     }
 
     /**
-     * Allows the ship to shoot enemies
-     * adds a missile to the world with the set rotation and location
+     * Gets the kind of ship, so the world's ship systems know how it behaves
+     * 
+     * @return int      one of the ShipStore TYPE constants
      */
-    protected void shoot() {
-
-        if (shootCounter >= 30) { //if shootCounter reaches 30
+    protected abstract int getShipType();
 
-            Missile mA = new Missile(this.getRotation(), owner); //creates new missile at ship's rotation
+    /**
+     * Puts the ship into a store, which from then on holds its state
+     * Called by the world when the ship is added
+     * 
+     * @param store     the store of the world the ship was added to
+     */
+    public void attach(ShipStore store) {
+        if (this.store == null) { //if not in a store already
+            this.store = store;
+            handle = store.add(this, getShipType(), owner, getX(), getY(), getRotation(), maxHP); //takes a slot in the store
+        }
+    }
 
+    /**
+     * Takes the ship out of its store
+     * Called by the world when the ship is removed
+     */
+    public void detach() {
+        if (store != null) { //if in a store
+            store.remove(handle); //frees the slot
+            store = null;
+            handle = -1;
+        }
+    }
 
-            getWorld().addObject(mA, getX(), getY()); //adds object to object location
+    /**
+     * Updates the slot of the ship in its store
+     * Called by the store when ships are moved around
+     * 
+     * @param handle    the new slot
+     */
+    void setHandle(int handle) {
+        this.handle = handle; //assigns handle to handle
+    }
 
-            shootCounter = 0; //sets shootCounter back to 0
+    /**
+     * Sets the location, keeping the store up to date
+     * 
+     * @param x     the new x coordinate
+     * 
+     * @param y     the new y coordinate
+     */
+    @Override
+    public void setLocation(int x, int y) {
+        super.setLocation(x, y); //moves the actor
+        if (store != null) { //if in a store
+            store.x[handle] = getX(); //keeps the position in the store
+            store.y[handle] = getY();
         }
+    }
 
+    /**
+     * Sets the rotation, keeping the store up to date
+     * 
+     * @param rotation      the new rotation in degrees
+     */
+    @Override
+    public void setRotation(int rotation) {
+        super.setRotation(rotation); //turns the actor
+        if (store != null) { //if in a store
+            store.heading[handle] = getRotation(); //keeps the heading in the store
+        }
     }
 
-   
     /**
-     * Calculates the distance between the actor and another actor
+     * Takes a hit from a missile if it is unfriendly and has not hit anything else
+     * called by the missile, which checks for hits along its whole path
+     * will cause damage to the ship HP once everything has acted, and have the missile removed
      * 
-     * @param actor     the actor whos distance to calculate to 
+     * @param m         the missile hitting the ship
      * 
-     * @return double   the hypotenuse between the two actors
+     * @return boolean  true if the missile was unfriendly and hit, otherwise false
      */
-    protected double getDistance(Actor actor) {
-        
-        return Math.hypot(actor.getX() - getX(), actor.getY() - getY()); //returns the hypotenuse of the x and y distances
+    protected boolean hit(Missile m) {
+        if (m.getOwnerMissile() == owner || m.isSpent()) { //if m is friendly or already hit something
+            return false; //no damage
+        }
+        ((SolSystem) getWorld()).getCommands().damage(this, 25); //cause dmg to hp by 25
+        m.spend(); //the missile hits nothing else and is removed
+        return true;
     }
-    
+
     /**
-     * Detects the collision of missiles with Ship actors
-     * will remove the missile after colliding
-     * will cause damage to the ship HP
+     * Changes the health of the ship, never below 0 or above its maximum, and redraws its HealthBar if it has one
+     * 
+     * @param change    the desired change in health
+     *                  a positive value means an increase in health, a negative value means a decrease
      */
-    protected void missileCollision() {
-        Missile m = (Missile) getOneIntersectingObject(Missile.class); //creates Missile m that intersects the ship
-
-        if (m != null && m.getOwnerMissile() != owner) { //if m exists and is unfriendly
-            hp.update(-25); //cause dmg to hp by 25
-             m.removeMe(); //removes missile
-           
+    protected void changeHealth(double change) {
+        if (store == null) { //health is only held while in a store
+            return;
+        }
+        store.hp[handle] = Math.max(0, Math.min(store.hp[handle] + change, store.maxHp[handle])); //changes the health, within its bounds
+        if (hp != null) { //probes have no bar
+            hp.show(store.hp[handle], store.maxHp[handle]); //redraws the bar from the store
         }
     }
+
+    /**
+     * Gets the current health of the ship
+     * 
+     * @return double   the health, as held by the store, or the maximum before the ship is in one
+     */
+    public double getHealth() {
+        return store != null ? store.hp[handle] : maxHP; //reads from the store while in it
+    }
     
     /**
      * Checks to see if the health is satisfactory
@@ -89,48 +149,17 @@ public abstract class Ship extends Actor {
      */
     protected void checkHealth()
     {
-        if (hp.getHealth() <= 0) //if health reaches 0
+        if (getHealth() <= 0) //if health reaches 0
         {
             removeMe(); //call removeMe() method to remove
         }
     }
     
     /**
-     * removes the actor from the world
+     * arranges to have the actor removed from the world once everything has acted
      */
     protected void removeMe() {
-        getWorld().removeObject(this); //removes ship
-    }
-    
-    /**
-     * Finds a list of all Destroyers in a certain range 
-     * Will utilize the getDistance() method in order to determine the closest actor
-     * Used to track which enemies should be attacked
-     * 
-     * @param range     the desired tracking radius for Destroyers
-     */
-    protected void detectEnemies(int range) {
-        List<Destroyer> enemies = getObjectsInRange(range, Destroyer.class); //creates list of Destroyers in range 
-
-        if (enemies != null) { //if the list exists
-            nearestDestroyer = null; //set nearestDestroyer to null
-
-            for (int i = 0; i < enemies.size(); i++) { //cycles through all elements in the list
-                destroyerDistance = getDistance(enemies.get(i)); //find the distance of the element being analyzed
-
-                if ((enemies.get(i)).getOwner() != owner //if Destroyer is unfriendly and is closer than previous Destroyers
-                        && destroyerDistance < nearestDistanceDestroyer) {
-                    nearestDistanceDestroyer = destroyerDistance; //reassigns the shortest Destroyer distance
-
-                    nearestDestroyer = enemies.get(i); //reassigns the nearest Destroyer
-                }
-            }
-
-            nearestDistanceDestroyer = range; //resets nearest distance back to original range
-            
-
-        }
-
+        ((SolSystem) getWorld()).getCommands().remove(this); //removes ship
     }
     
     /**
@@ -143,4 +172,4 @@ public abstract class Ship extends Actor {
         return owner; //gets the Planet owner 
     }
     
-}
\ No newline at end of file
+}
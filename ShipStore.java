@@ -0,0 +1,267 @@
+import greenfoot.*;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * ShipStore holds the state of every Ship in a World in contiguous arrays,
+ * one per quantity, indexed by a handle given to each Ship when it is added,
+ * in the same way that BodyStore holds CelestialBodies. Ships are thin views
+ * over their slot, and their behaviour is carried out by systems which loop
+ * over the arrays once per frame: TargetingSystem picks what each Ship is
+ * after, MovementSystem turns and moves them, and WeaponSystem runs their
+ * cooldowns and fires. One instance should be owned by the World.
+ * <p>
+ * Handles are dense; removing a Ship moves the last Ship into its slot and
+ * informs it of its new handle. Arrays may be replaced when the store grows,
+ * so they should be read again after any Ship is added.
+ * <p>
+ * Owning Planets are given small ids, so that per-owner data such as the
+ * civilization stage can be looked up once per frame and read by index.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class ShipStore {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// Kind of each Ship, one of the TYPE constants, and the id of its owner.
+	int[] type, owner;
+	// Position and heading in degrees of each Ship, kept up to date by the
+	// Ship as it is moved.
+	double[] x, y, heading;
+	// Health, and the greatest health of each Ship.
+	double[] hp, maxHp;
+	// Reload progress, which fires at RELOAD, the amount it rises each frame,
+	// and the frames since the last repair.
+	int[] cooldown, reloadRate, healTimer;
+	// Targets kept between searches. Destroyers use every one, Satellites
+	// only look for Destroyers, and Probes look for none.
+	Destroyer[] nearestDestroyer;
+	Satellite[] nearestSatellite;
+	Planet[] nearestPlanet;
+	// Whether each Ship has searched for targets at least once.
+	boolean[] searched;
+	// What each Ship is turned towards this frame, and whether it is a Planet
+	// to be approached rather than a Ship to be fired on.
+	Actor[] aim;
+	boolean[] approach;
+	// The Ship occupying each slot.
+	private Ship[] ships;
+	private int count;
+	// Every owner by id, and the id of each.
+	private Planet[] owners;
+	private int ownerCount;
+	private Map<Planet, Integer> ownerIds;
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Kinds of Ship.
+	public static final int TYPE_PROBE = 0;
+	public static final int TYPE_SATELLITE = 1;
+	public static final int TYPE_DESTROYER = 2;
+	// Reload progress at which a Ship may fire.
+	public static final int RELOAD = 30;
+	// Initial capacity.
+	private static final int INITIAL_SHIPS = 64;
+	private static final int INITIAL_OWNERS = 8;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs an empty ShipStore.
+	 */
+	public ShipStore() {
+		type = new int[INITIAL_SHIPS];
+		owner = new int[INITIAL_SHIPS];
+		x = new double[INITIAL_SHIPS];
+		y = new double[INITIAL_SHIPS];
+		heading = new double[INITIAL_SHIPS];
+		hp = new double[INITIAL_SHIPS];
+		maxHp = new double[INITIAL_SHIPS];
+		cooldown = new int[INITIAL_SHIPS];
+		reloadRate = new int[INITIAL_SHIPS];
+		healTimer = new int[INITIAL_SHIPS];
+		nearestDestroyer = new Destroyer[INITIAL_SHIPS];
+		nearestSatellite = new Satellite[INITIAL_SHIPS];
+		nearestPlanet = new Planet[INITIAL_SHIPS];
+		searched = new boolean[INITIAL_SHIPS];
+		aim = new Actor[INITIAL_SHIPS];
+		approach = new boolean[INITIAL_SHIPS];
+		ships = new Ship[INITIAL_SHIPS];
+		owners = new Planet[INITIAL_OWNERS];
+		ownerIds = new IdentityHashMap<Planet, Integer>();
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Adds a Ship to the store with the given initial state.
+	 *
+	 * @param s
+	 *            The Ship to be added.
+	 * @param type
+	 *            Its kind, one of the TYPE constants.
+	 * @param owner
+	 *            The Planet it belongs to.
+	 * @param x
+	 *            Its x-coordinate.
+	 * @param y
+	 *            Its y-coordinate.
+	 * @param heading
+	 *            Its heading, in degrees.
+	 * @param maxHp
+	 *            Its greatest health, which it starts with.
+	 * @return int The handle of the Ship's slot.
+	 */
+	public int add(Ship s, int type, Planet owner, double x, double y,
+			double heading, double maxHp) {
+		if (count == ships.length) {
+			grow();
+		}
+		int h = count++;
+		this.type[h] = type;
+		this.owner[h] = getOwnerId(owner);
+		this.x[h] = x;
+		this.y[h] = y;
+		this.heading[h] = heading;
+		this.hp[h] = maxHp;
+		this.maxHp[h] = maxHp;
+		cooldown[h] = 0;
+		reloadRate[h] = 0;
+		healTimer[h] = 0;
+		nearestDestroyer[h] = null;
+		nearestSatellite[h] = null;
+		nearestPlanet[h] = null;
+		searched[h] = false;
+		aim[h] = null;
+		approach[h] = false;
+		ships[h] = s;
+		return h;
+	}
+
+	/**
+	 * Removes the Ship at the given handle. The last Ship is moved into the
+	 * freed slot and its handle is updated.
+	 *
+	 * @param h
+	 *            The handle of the Ship to be removed.
+	 */
+	public void remove(int h) {
+		int last = --count;
+		if (h != last) {
+			type[h] = type[last];
+			owner[h] = owner[last];
+			x[h] = x[last];
+			y[h] = y[last];
+			heading[h] = heading[last];
+			hp[h] = hp[last];
+			maxHp[h] = maxHp[last];
+			cooldown[h] = cooldown[last];
+			reloadRate[h] = reloadRate[last];
+			healTimer[h] = healTimer[last];
+			nearestDestroyer[h] = nearestDestroyer[last];
+			nearestSatellite[h] = nearestSatellite[last];
+			nearestPlanet[h] = nearestPlanet[last];
+			searched[h] = searched[last];
+			aim[h] = aim[last];
+			approach[h] = approach[last];
+			ships[h] = ships[last];
+			ships[h].setHandle(h);
+		}
+		nearestDestroyer[last] = null;
+		nearestSatellite[last] = null;
+		nearestPlanet[last] = null;
+		aim[last] = null;
+		ships[last] = null;
+	}
+
+	/**
+	 * Retrieves the number of Ships in the store.
+	 *
+	 * @return int The number of Ships, which are at handles 0 to size-1.
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Retrieves the Ship at the given handle.
+	 *
+	 * @param h
+	 *            The handle.
+	 * @return Ship The Ship in that slot.
+	 */
+	public Ship get(int h) {
+		return ships[h];
+	}
+
+	/**
+	 * Retrieves the number of owner ids given out, which are 0 to this
+	 * number minus one.
+	 *
+	 * @return int The number of owners.
+	 */
+	public int getOwnerCount() {
+		return ownerCount;
+	}
+
+	/**
+	 * Retrieves the Planet with the given owner id.
+	 *
+	 * @param id
+	 *            The owner id.
+	 * @return Planet The owner.
+	 */
+	public Planet getOwner(int id) {
+		return owners[id];
+	}
+
+	// PRIVATE METHODS------------------------------------------------------
+
+	/**
+	 * Retrieves the id of an owner, giving it one if it has none. Ids are
+	 * kept for as long as the store, as there are only ever a few Planets.
+	 *
+	 * @param p
+	 *            The owner.
+	 * @return int Its id.
+	 */
+	private int getOwnerId(Planet p) {
+		Integer id = ownerIds.get(p);
+		if (id == null) {
+			if (ownerCount == owners.length) {
+				owners = Arrays.copyOf(owners, ownerCount * 2);
+			}
+			id = ownerCount++;
+			owners[id] = p;
+			ownerIds.put(p, id);
+		}
+		return id;
+	}
+
+	/**
+	 * Doubles the capacity of every array.
+	 */
+	private void grow() {
+		int size = ships.length * 2;
+		type = Arrays.copyOf(type, size);
+		owner = Arrays.copyOf(owner, size);
+		x = Arrays.copyOf(x, size);
+		y = Arrays.copyOf(y, size);
+		heading = Arrays.copyOf(heading, size);
+		hp = Arrays.copyOf(hp, size);
+		maxHp = Arrays.copyOf(maxHp, size);
+		cooldown = Arrays.copyOf(cooldown, size);
+		reloadRate = Arrays.copyOf(reloadRate, size);
+		healTimer = Arrays.copyOf(healTimer, size);
+		nearestDestroyer = Arrays.copyOf(nearestDestroyer, size);
+		nearestSatellite = Arrays.copyOf(nearestSatellite, size);
+		nearestPlanet = Arrays.copyOf(nearestPlanet, size);
+		searched = Arrays.copyOf(searched, size);
+		aim = Arrays.copyOf(aim, size);
+		approach = Arrays.copyOf(approach, size);
+		ships = Arrays.copyOf(ships, size);
+	}
+}
@@ -1,5 +1,10 @@
 import greenfoot.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.awt.geom.Rectangle2D;
 import java.awt.geom.Area;
 
@@ -28,7 +33,6 @@ public class SolSystem extends World {
 
 	// The system's components; heavenly bodies.
 	private Planet[] planets = new Planet[5];
-	private ArrayList<Asteroid> asteroids;
 	private Star sol;
 	// Transition for fading.
 	private Overlay overlay;
@@ -43,6 +47,50 @@ public class SolSystem extends World {
 	private double[] orbitRadY = new double[] { 184, 145, 182, 200, 313 };
 	// Asteroid spawn rate, inversely related to probability of spawning.
 	private int asteroidSpawnRate;
+	// Physical state of all CelestialBodies, the gravity solver, and the
+	// integrator that moves them through time.
+	private BodyStore bodies;
+	private Gravity gravity;
+	private Integrator integrator;
+	// Registry of Actors held by others, which tells each holder as soon as
+	// one leaves the world.
+	private EntityRegistry entities;
+	// Simulation time per frame, and the number of sub-steps it is split into.
+	private double timeScale;
+	private int subSteps;
+	// Total simulation time elapsed, in frames at normal speed.
+	private double time;
+	// Broadphase for the collision checks of every Actor, rebuilt each frame.
+	private SpatialHash collisions;
+	// Nearest-neighbour indices for targeting, rebuilt each frame. Ships are
+	// partitioned by owning Planet.
+	private FactionIndex<Destroyer> destroyerIndex;
+	private FactionIndex<Satellite> satelliteIndex;
+	private NearestIndex<Planet> planetIndex;
+	// Spare Actors kept for reuse instead of being created anew.
+	private ObjectPool<Missile> missilePool;
+	private ObjectPool<Asteroid> asteroidPool;
+	private ObjectPool<HealthBar> healthBarPool;
+	// Pooled Actors removed since they were last returned to their pools.
+	private List<Actor> recycled;
+	// Factory for each kind of Actor that can be spawned.
+	private Map<Class<?>, SpawnFactory<?>> spawnFactories;
+	// Which Planets are near enough each other to graze.
+	private ProximityGraph proximity;
+	// Service deciding when Ships search for new targets.
+	private Targeting targeting;
+	// Changes asked for by Actors while acting, applied the next frame.
+	private CommandBuffer commands;
+	// State of every Ship, and the systems that target, move and fire for
+	// all of them each frame.
+	private ShipStore ships;
+	private TargetingSystem targetingSystem;
+	private MovementSystem movementSystem;
+	private WeaponSystem weaponSystem;
+	// Pool that the physics of large numbers of bodies is split over. Shared
+	// by every SolSystem, so that each reset of the scenario reuses it rather
+	// than leaving another pool of threads behind.
+	private static ForkJoinPool physicsPool;
 
 	// CONSTANTS-----------------------------------------------
 
@@ -51,6 +99,35 @@ public class SolSystem extends World {
 			"images/bg.png");
 	private static final GreenfootSound BG_THEME = new GreenfootSound(
 			"sounds/bgTheme.wav");
+	// Default opening angle of the gravity tree. Lower is more accurate.
+	private static final double GRAVITY_THETA = 0.5;
+	// Number of bodies beyond which the gravity kernel replaces exact pairs.
+	private static final int GRAVITY_PAIR_THRESHOLD = 64;
+	// Number of bodies beyond which the gravity tree replaces the kernel.
+	private static final int GRAVITY_TREE_THRESHOLD = 256;
+	// Smallest mass which exerts gravity. Planets and the Star are above it;
+	// Asteroids only feel gravity, and orbiting Moons feel none.
+	private static final double GRAVITY_ATTRACTOR_MASS = 1e12;
+	// Frames between scheduled target searches by each Ship.
+	private static final int TARGETING_PERIOD = 8;
+	// Width of a collision broadphase cell, in pixels.
+	private static final int COLLISION_CELL = 64;
+	// Greatest number of spare Missiles, Asteroids and HealthBars kept.
+	private static final int MISSILE_POOL = 256;
+	private static final int ASTEROID_POOL = 64;
+	private static final int HEALTH_BAR_POOL = 32;
+	// Extra radius, in pixels, that lists of nearby Planets are built with.
+	private static final double PROXIMITY_SKIN = 64;
+	// Default grid spacing of the precomputed gravity field of fixed bodies,
+	// and the largest relative error allowed from interpolating it.
+	private static final double GRAVITY_FIELD_CELL = 4;
+	private static final double GRAVITY_FIELD_ERROR = 1e-3;
+	// Default number of integration blocks per frame, each of which bodies
+	// split further as they need.
+	private static final int SUB_STEPS = 1;
+	// Distance, in pixels, that a body may stray from a straight path in one
+	// of its steps.
+	private static final double STEP_TOLERANCE = 0.05;
 
 	// CONSTRUCTOR-------------------------------------------------
 
@@ -64,6 +141,12 @@ public class SolSystem extends World {
 	public SolSystem(int asteroidSpawnRate) {
 		// Set up resolution.
 		super(960, 640, 1, false);
+		// Bodies are stored as they are added, so the store must exist first.
+		bodies = new BodyStore();
+		// Likewise, owned Actors are registered as they are added.
+		entities = new EntityRegistry();
+		ships = new ShipStore();
+		commands = new CommandBuffer();
 		// Setting up layering rules.
 		setPaintOrder(Overlay.class, Log.class, HealthBar.class, Ship.class,
 				CelestialBody.class, StatusSet.class, Planet.Glow.class);
@@ -76,7 +159,6 @@ public class SolSystem extends World {
 		planets[2] = new Planet(sol, 0, 1e13, true);
 		planets[3] = new Planet(sol, 2, 1e16, false);
 		planets[4] = new Planet(sol, 1, 1e13, true);
-		asteroids = new ArrayList<Asteroid>(0);
 		overlay = new Overlay(3);
 		worldLog = new Log(null, 3);
 		// Add assets to world.
@@ -90,6 +172,42 @@ public class SolSystem extends World {
 		addObject(overlay, getWidth() / 2, getHeight() / 2);
 		// Note spawn rate passed.
 		this.asteroidSpawnRate = Math.abs(asteroidSpawnRate);
+		// Set up gravity and motion, at normal speed.
+		gravity = new Gravity(GRAVITY_THETA, GRAVITY_PAIR_THRESHOLD,
+				GRAVITY_TREE_THRESHOLD, GRAVITY_ATTRACTOR_MASS);
+		setGravityField(GRAVITY_FIELD_CELL, GRAVITY_FIELD_ERROR);
+		collisions = new SpatialHash(COLLISION_CELL);
+		destroyerIndex = new FactionIndex<Destroyer>();
+		satelliteIndex = new FactionIndex<Satellite>();
+		planetIndex = new NearestIndex<Planet>();
+		proximity = new ProximityGraph(PROXIMITY_SKIN);
+		missilePool = new ObjectPool<Missile>(new ObjectPool.Factory<Missile>() {
+			public Missile create() {
+				return new Missile(0, null);
+			}
+		}, MISSILE_POOL);
+		asteroidPool = new ObjectPool<Asteroid>(
+				new ObjectPool.Factory<Asteroid>() {
+					public Asteroid create() {
+						return new Asteroid(0, 0, 0);
+					}
+				}, ASTEROID_POOL);
+		healthBarPool = new ObjectPool<HealthBar>(
+				new ObjectPool.Factory<HealthBar>() {
+					public HealthBar create() {
+						return new HealthBar(null);
+					}
+				}, HEALTH_BAR_POOL);
+		recycled = new ArrayList<Actor>();
+		setUpSpawnFactories();
+		targeting = new Targeting(TARGETING_PERIOD);
+		targetingSystem = new TargetingSystem();
+		movementSystem = new MovementSystem();
+		weaponSystem = new WeaponSystem();
+		integrator = new BlockIntegrator(STEP_TOLERANCE);
+		timeScale = 1;
+		subSteps = SUB_STEPS;
+		setPhysicsThreads(Runtime.getRuntime().availableProcessors());
 	}
 
 	// GREENFOOT STRUCTURE------------------------------------------------
@@ -119,77 +237,196 @@ public class SolSystem extends World {
 				planets[i].hideLog();
 			}
 		}
+		// Carry out the spawns, removals, damage and transfers that Actors
+		// asked for last frame, before anything else is updated. Only then
+		// are removed Actors pooled, so no command reaches a recycled one.
+		commands.apply(this);
+		recycle();
 		// Check if spawning should occur this frame and do so if possible.
 		spawnAsteroid();
+		// Move every free body under gravity for this frame.
+		simulate();
+		// Then move everything on fixed paths, parents before children.
+		updateTransforms();
+		updateProximity();
+		// Sort everything that can collide or be targeted for this frame.
+		updateCollisions();
+		updateTargets();
+		// Then every Ship aims, moves and fires, before any Actor acts.
+		targetingSystem.run(ships, this);
+		movementSystem.run(ships);
+		weaponSystem.run(ships, this);
+		targeting.tick();
 	}
 
 	// PRIVATE METHODS----------------------------------------------------
 
 	/**
-	 * Brings a declared array of objects into the world. The lengths of a, x,
-	 * and y must be equal.
+	 * Runs the physics phase, integrating every free CelestialBody through one
+	 * frame of simulation time under gravity, then moving them to their new
+	 * positions.
+	 */
+	private void simulate() {
+		integrator.advance(bodies, gravity, timeScale, subSteps);
+		time += timeScale;
+		for (int i = 0; i < bodies.size(); i++) {
+			if (bodies.free[i]) {
+				bodies.get(i).updateLocation();
+			}
+		}
+	}
+
+	/**
+	 * Runs the transform pass, moving every Planet for this frame and then
+	 * its Moons and Satellites about it. The Star is fixed, so the Planets
+	 * are the first level. As the world acts before any Actor, everything
+	 * sees this frame's positions.
+	 */
+	private void updateTransforms() {
+		for (int i = 0; i < planets.length; i++) {
+			if (planets[i].getWorld() == this) {
+				planets[i].updateTransform();
+			}
+		}
+	}
+
+	/**
+	 * Brings the Planet proximity graph up to date with this frame's
+	 * positions.
+	 */
+	@SuppressWarnings("unchecked")
+	private void updateProximity() {
+		proximity.update(getObjects(Planet.class));
+	}
+
+	/**
+	 * Rebuilds the collision broadphase from every CelestialBody, Missile and
+	 * Ship in the world.
+	 */
+	@SuppressWarnings("unchecked")
+	private void updateCollisions() {
+		collisions.clear();
+		collisions.addAll(getObjects(CelestialBody.class));
+		collisions.addAll(getObjects(Missile.class));
+		collisions.addAll(getObjects(Ship.class));
+	}
+
+	/**
+	 * Rebuilds the targeting indices from every Destroyer, Satellite and
+	 * Planet in the world. Ships are owned by their Planet, and each
+	 * Planet by itself.
+	 */
+	@SuppressWarnings("unchecked")
+	private void updateTargets() {
+		destroyerIndex.clear();
+		for (Destroyer d : (List<Destroyer>) getObjects(Destroyer.class)) {
+			destroyerIndex.add(d, d.getOwner());
+		}
+		destroyerIndex.build();
+		satelliteIndex.clear();
+		for (Satellite s : (List<Satellite>) getObjects(Satellite.class)) {
+			satelliteIndex.add(s, s.getOwner());
+		}
+		satelliteIndex.build();
+		planetIndex.clear();
+		for (Planet p : (List<Planet>) getObjects(Planet.class)) {
+			planetIndex.add(p, p);
+		}
+		planetIndex.build();
+	}
+
+	/**
+	 * Binds the factory of every kind of Actor that can be spawned. Ships are
+	 * given health according to their owner's civilization stage, and
+	 * Asteroids come from the pool.
+	 */
+	private void setUpSpawnFactories() {
+		spawnFactories = new HashMap<Class<?>, SpawnFactory<?>>();
+		setSpawnFactory(Asteroid.class, new SpawnFactory<Asteroid>() {
+			public Asteroid create(Planet owner) {
+				// Random damaging power.
+				Asteroid a = asteroidPool.acquire();
+				a.reset(Greenfoot.getRandomNumber(900) + 350, 0, 1e10, 50);
+				return a;
+			}
+		});
+		setSpawnFactory(Probe.class, new SpawnFactory<Probe>() {
+			public Probe create(Planet owner) {
+				return new Probe(owner, 120 * owner.getCivStage());
+			}
+		});
+		setSpawnFactory(Satellite.class, new SpawnFactory<Satellite>() {
+			public Satellite create(Planet owner) {
+				return new Satellite(owner, 500 * owner.getCivStage());
+			}
+		});
+		setSpawnFactory(Destroyer.class, new SpawnFactory<Destroyer>() {
+			public Destroyer create(Planet owner) {
+				return new Destroyer(owner, 350 * owner.getCivStage());
+			}
+		});
+	}
+
+	/**
+	 * Retrieves the factory bound for a kind of Actor.
 	 * 
-	 * @param a
-	 *            The declared array of Actors; must have a set length.
-	 * @param x
-	 *            The x coordinate of each Actor's spawn point.
-	 * @param y
-	 *            The x coordinate of each Actor's spawn point.
-	 * @param clss
-	 *            The class of the Actor.
-	 * @param params
-	 *            The classes of the desired constructor's parameters, in order;
-	 *            null if no parameters;
-	 * @param init
-	 *            The parameters to be passed to the desired constructor, in
-	 *            order, omit if none.
-	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private void spawn(Actor[] a, int[] x, int[] y, Class clss, Class[] params,
-			Object... init) {
-		// Coordinate number must correspond with actor number.
-		if (a.length != x.length || a.length != y.length) {
-			System.out.println("Spawn error in World: Array length mismatch.");
-			return;
+	 * @param type
+	 *            The Class of the Actor.
+	 * @return SpawnFactory The factory for it.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T extends Actor> SpawnFactory<T> getSpawnFactory(Class<T> type) {
+		SpawnFactory<T> factory = (SpawnFactory<T>) spawnFactories.get(type);
+		if (factory == null) {
+			throw new IllegalArgumentException("Cannot spawn "
+					+ type.getName() + ".");
 		}
-		// Runs through the actor array and...
-		for (int i = 0; i < a.length; i++) {
-			try {
-				// ...each actor is assigned an instance by identifying the
-				// specified constructor using the class array,
-				// and creating a new instance using that constructor by passing
-				// it its requested parameters.
-				// Equivalent to a generic call of the new function. The object
-				// is then added to the world at its respective coordinates
-				// defined in the coordinate arrays.
-				a[i] = (Actor) clss.getDeclaredConstructor(params).newInstance(
-						init);
-				addObject(a[i], x[i], y[i]);
-			} catch (Exception e) {
-				// The above is potentially capable of failing. Any errors are
-				// noted and sent to console for review.
-				System.out.println("Spawn error in World.");
-				e.printStackTrace();
+		return factory;
+	}
+
+	/**
+	 * Retrieves the shared physics pool, replacing it if it does not have
+	 * the given number of threads. Only the World that is running uses the
+	 * pool, so a replaced pool may be shut down.
+	 * 
+	 * @param threads
+	 *            The number of threads.
+	 * @return ForkJoinPool The shared pool.
+	 */
+	private static synchronized ForkJoinPool getPhysicsPool(int threads) {
+		if (physicsPool == null || physicsPool.getParallelism() != threads) {
+			if (physicsPool != null) {
+				physicsPool.shutdown();
+			}
+			physicsPool = new ForkJoinPool(threads);
+		}
+		return physicsPool;
+	}
+
+	/**
+	 * Returns every pooled Actor removed since the last call to its pool.
+	 */
+	private void recycle() {
+		for (int i = 0; i < recycled.size(); i++) {
+			Actor a = recycled.get(i);
+			if (a instanceof Missile) {
+				missilePool.release((Missile) a);
+			} else if (a instanceof Asteroid) {
+				asteroidPool.release((Asteroid) a);
+			} else {
+				healthBarPool.release((HealthBar) a);
 			}
 		}
+		recycled.clear();
 	}
 
 	/**
 	 * Spawns an Asteroid every once in a while from within a certain off-screen
 	 * region and directs it towards the solar system.
 	 */
-	@SuppressWarnings("unchecked")
 	private void spawnAsteroid() {
 		// Using the probability passed into SolSystem,
 		if (Greenfoot.getRandomNumber(asteroidSpawnRate) == 0) {
-			// Add a new Asteroid to the reference list and;
-			asteroids.add(new Asteroid(Greenfoot.getRandomNumber(900) + 350,
-					1e10, 50));
-			// This most recent addition must be the final element and have
-			// index size-1 because the references are trimmed down to clear
-			// off all empty spaces every act() iteration. Thus the most
-			// recent addition must have expanded the size.
-			// Now add it to the world.
 			// First creating point slightly off-screen. Create area of
 			// region that can spawn. This is a rectangular band of uniform
 			// width 100 around the outside of the screen.
@@ -212,7 +449,8 @@ public class SolSystem extends World {
 				spawnY = Greenfoot
 						.getRandomNumber((int) outerRect.getHeight() + 1) - 100;
 			}
-			// Add it to the point.
+			// Spawn it at the point.
+			Asteroid a = spawn(Asteroid.class, null, spawnX, spawnY);
 			// Initial velocity is a centered angular range of 120 degrees
 			// towards the sun. Note that angle1 is the minimum angle, which is
 			// the direct line vector to the sun minus 60, half the range.
@@ -220,19 +458,332 @@ public class SolSystem extends World {
 					sol.getY()) - 60;
 			// The velocity is magnitude 1 to 5, direction minimum angle to
 			// minimum plus 120, towards the sun.
-			asteroids.get(asteroids.size() - 1).setVelocity(
+			a.setVelocity(
 					new Vector(Greenfoot.getRandomNumber(6) + 1, Greenfoot
 							.getRandomNumber(121) + angle1, false));
-			// Add the asteroid.
-			addObject(asteroids.get(asteroids.size() - 1), spawnX, spawnY);
 		}
-		// Clearing empty spaces;
-		asteroids = (ArrayList<Asteroid>) Helper
-				.cleanReferences((ArrayList<? extends Actor>) asteroids);
 	}
 
 	// INTERFACE----------------------------------------------------------
 
+	/**
+	 * Adds an Actor to the world. CelestialBodies are also placed in the body
+	 * store, and Ships in the ship store, which hold their state from then on.
+	 * 
+	 * @param object
+	 *            The Actor to be added.
+	 * @param x
+	 *            The x-coordinate of the location.
+	 * @param y
+	 *            The y-coordinate of the location.
+	 */
+	@Override
+	public void addObject(Actor object, int x, int y) {
+		super.addObject(object, x, y);
+		if (object instanceof CelestialBody && object.getWorld() == this) {
+			((CelestialBody) object).attach(bodies);
+		} else if (object instanceof Ship && object.getWorld() == this) {
+			((Ship) object).attach(ships);
+		}
+	}
+
+	/**
+	 * Removes an Actor from the world, taking CelestialBodies and Ships out of
+	 * their stores and releasing the Actor from whoever holds it. Pooled
+	 * Actors are only returned to their pool once every command of the frame
+	 * has been applied, so none still aimed at them can reach a new life.
+	 * 
+	 * @param object
+	 *            The Actor to be removed.
+	 */
+	@Override
+	public void removeObject(Actor object) {
+		boolean present = object.getWorld() == this;
+		if (object instanceof CelestialBody) {
+			((CelestialBody) object).detach();
+		} else if (object instanceof Ship) {
+			((Ship) object).detach();
+		}
+		super.removeObject(object);
+		entities.release(object);
+		// Only Actors that were here are pooled, so none is pooled twice.
+		if (present
+				&& (object instanceof Missile || object instanceof Asteroid
+						|| object instanceof HealthBar)) {
+			recycled.add(object);
+		}
+	}
+
+	/**
+	 * Removes several Actors from the world.
+	 * 
+	 * @param objects
+	 *            The Actors to be removed.
+	 */
+	@Override
+	@SuppressWarnings("rawtypes")
+	public void removeObjects(Collection objects) {
+		for (Object o : objects) {
+			removeObject((Actor) o);
+		}
+	}
+
+	/**
+	 * Sets the opening angle used by the gravity tree. Zero is exact pairwise
+	 * summation; larger values are faster but less accurate.
+	 * 
+	 * @param theta
+	 *            The opening angle criterion. Negatives are ignored.
+	 */
+	public void setGravityTheta(double theta) {
+		gravity.setTheta(theta);
+	}
+
+	/**
+	 * Retrieves the collision broadphase, which holds every CelestialBody,
+	 * Ship and Missile as of the start of the frame.
+	 * 
+	 * @return SpatialHash The broadphase.
+	 */
+	public SpatialHash getCollisions() {
+		return collisions;
+	}
+
+	/**
+	 * Retrieves the index of every Destroyer, partitioned by their Planets,
+	 * as of the start of the frame.
+	 * 
+	 * @return FactionIndex The index of Destroyers.
+	 */
+	public FactionIndex<Destroyer> getDestroyerIndex() {
+		return destroyerIndex;
+	}
+
+	/**
+	 * Retrieves the index of every Satellite, partitioned by their Planets,
+	 * as of the start of the frame.
+	 * 
+	 * @return FactionIndex The index of Satellites.
+	 */
+	public FactionIndex<Satellite> getSatelliteIndex() {
+		return satelliteIndex;
+	}
+
+	/**
+	 * Retrieves the index of every Planet, each owned by itself, as of the
+	 * start of the frame.
+	 * 
+	 * @return NearestIndex The index of Planets.
+	 */
+	public NearestIndex<Planet> getPlanetIndex() {
+		return planetIndex;
+	}
+
+	/**
+	 * Retrieves the pool of spare Missiles. Missiles acquired from it are
+	 * returned automatically once removed from the world.
+	 * 
+	 * @return ObjectPool The pool of Missiles.
+	 */
+	public ObjectPool<Missile> getMissilePool() {
+		return missilePool;
+	}
+
+	/**
+	 * Retrieves the pool of spare HealthBars. HealthBars acquired from it are
+	 * returned automatically once removed from the world.
+	 * 
+	 * @return ObjectPool The pool of HealthBars.
+	 */
+	public ObjectPool<HealthBar> getHealthBarPool() {
+		return healthBarPool;
+	}
+
+	/**
+	 * Retrieves the registry of Actors held by others, such as the Ships of
+	 * each Planet.
+	 * 
+	 * @return EntityRegistry The entity registry.
+	 */
+	public EntityRegistry getEntities() {
+		return entities;
+	}
+
+	/**
+	 * Retrieves the graph of Planets near each other, up to date with this
+	 * frame's positions.
+	 * 
+	 * @return ProximityGraph The proximity graph.
+	 */
+	public ProximityGraph getProximity() {
+		return proximity;
+	}
+
+	/**
+	 * Retrieves the store holding the state of every Ship in the world.
+	 * 
+	 * @return ShipStore The ship store.
+	 */
+	public ShipStore getShips() {
+		return ships;
+	}
+
+	/**
+	 * Retrieves the buffer of changes Actors ask for while acting, which are
+	 * applied at the start of the next frame.
+	 * 
+	 * @return CommandBuffer The command buffer.
+	 */
+	public CommandBuffer getCommands() {
+		return commands;
+	}
+
+	/**
+	 * Retrieves the service deciding when Ships search for new targets.
+	 * 
+	 * @return Targeting The targeting service.
+	 */
+	public Targeting getTargeting() {
+		return targeting;
+	}
+
+	/**
+	 * Retrieves the simulation time elapsed since the world was created. It
+	 * advances by the time scale every frame, so bodies moving on fixed
+	 * orbits fast-forward along with those under gravity.
+	 * 
+	 * @return double The simulation time, in frames at normal speed.
+	 */
+	public double getTime() {
+		return time;
+	}
+
+	/**
+	 * Sets the Integrator used to move CelestialBodies under gravity.
+	 * 
+	 * @param integrator
+	 *            The Integrator. Null is ignored.
+	 */
+	public void setIntegrator(Integrator integrator) {
+		if (integrator != null) {
+			this.integrator = integrator;
+		}
+	}
+
+	/**
+	 * Sets the amount of simulation time that passes each frame. Greater than
+	 * one fast-forwards the motion of free CelestialBodies.
+	 * 
+	 * @param timeScale
+	 *            Frames of simulation time per frame. Negatives are ignored.
+	 */
+	public void setTimeScale(double timeScale) {
+		this.timeScale = Math.abs(timeScale);
+	}
+
+	/**
+	 * Retrieves the amount of simulation time that passes each frame, so that
+	 * Actors which move themselves can keep pace with the CelestialBodies.
+	 * 
+	 * @return double Frames of simulation time per frame.
+	 */
+	public double getTimeScale() {
+		return timeScale;
+	}
+
+	/**
+	 * Sets the number of fixed sub-steps each frame is integrated in. More
+	 * sub-steps are more accurate, particularly when fast-forwarding.
+	 * 
+	 * @param subSteps
+	 *            The number of sub-steps. Corrected to at least 1.
+	 */
+	public void setSubSteps(int subSteps) {
+		this.subSteps = Math.max(1, subSteps);
+	}
+
+	/**
+	 * Sets the number of threads that gravity and integration are split over
+	 * when there are many CelestialBodies. Every body is calculated the same
+	 * way whichever thread it falls on, so the motion is identical for any
+	 * number of threads.
+	 * 
+	 * @param threads
+	 *            The number of threads. 1 or less runs on the Greenfoot
+	 *            thread only.
+	 */
+	public void setPhysicsThreads(int threads) {
+		ForkJoinPool pool = threads > 1 ? getPhysicsPool(threads) : null;
+		bodies.setPool(pool);
+		gravity.setPool(pool);
+	}
+
+	/**
+	 * Sets the number of CelestialBodies beyond which gravity is read from a
+	 * Barnes-Hut tree instead of summed exactly over every pair.
+	 * 
+	 * @param threshold
+	 *            The number of bodies. Negatives are ignored.
+	 */
+	public void setGravityTreeThreshold(int threshold) {
+		gravity.setTreeThreshold(threshold);
+	}
+
+	/**
+	 * Sets the smallest mass of a CelestialBody which exerts gravity. Lighter
+	 * bodies still feel the gravity of heavier ones.
+	 * 
+	 * @param mass
+	 *            The mass threshold. Negatives are ignored.
+	 */
+	public void setGravityAttractorMass(double mass) {
+		gravity.setAttractorMass(mass);
+	}
+
+	/**
+	 * Sets whether every CelestialBody exerts gravity on every other, for
+	 * scenarios where the pull of light bodies such as Asteroids matters.
+	 * Off by default, where only bodies above the attractor mass exert it.
+	 * 
+	 * @param fullNBody
+	 *            True for full N-body gravity, false for attractors only.
+	 */
+	public void setFullNBody(boolean fullNBody) {
+		gravity.setFullNBody(fullNBody);
+	}
+
+	/**
+	 * Sets up the precomputed gravity field of fixed CelestialBodies, such as
+	 * the Star, covering the world. Their pull is then interpolated from a
+	 * grid, except close to them, where it is summed exactly.
+	 * 
+	 * @param cell
+	 *            The spacing of grid points, in pixels. 0 or less turns the
+	 *            field off, summing fixed bodies like any other.
+	 * @param errorBound
+	 *            The largest relative error allowed from interpolation.
+	 */
+	public void setGravityField(double cell, double errorBound) {
+		if (cell > 0) {
+			gravity.setField(new GravityField(0, 0, getWidth(), getHeight(),
+					cell, errorBound));
+		} else {
+			gravity.setField(null);
+		}
+	}
+
+	/**
+	 * Sets whether exact gravity summation uses the loop of the
+	 * GravityKernel unrolled over four lanes, or its scalar fallback. Both
+	 * give identical results, so this may be switched at any time.
+	 * 
+	 * @param unrolled
+	 *            True for the unrolled loop, false for the scalar loop.
+	 */
+	public void setGravityUnrolled(boolean unrolled) {
+		gravity.setUnrolled(unrolled);
+	}
+
 	/**
 	 * Updates the world's designated main log with a message.
 	 * 
@@ -244,37 +795,70 @@ public class SolSystem extends World {
 	}
 
 	/**
-	 * Spawns several asteroids at the given point with outwards velocity
-	 * vectors, in an explosion type effect.
+	 * Binds the factory used to spawn a kind of Actor, replacing any bound
+	 * before.
 	 * 
+	 * @param type
+	 *            The Class of the Actor.
+	 * @param factory
+	 *            The factory creating it.
+	 */
+	public <T extends Actor> void setSpawnFactory(Class<T> type,
+			SpawnFactory<T> factory) {
+		spawnFactories.put(type, factory);
+	}
+
+	/**
+	 * Spawns an Actor at a point, using the factory bound for its kind.
+	 * 
+	 * @param type
+	 *            The Class of the Actor.
+	 * @param owner
+	 *            The Planet spawning it; null if none.
 	 * @param x
 	 *            The x-coordinate of the spawn point.
 	 * @param y
 	 *            The y-coordinate of the spawn point.
+	 * @return T The Actor spawned.
 	 */
-	@SuppressWarnings("unchecked")
-	public void spawnAsteroidsAt(int x, int y) {
-		// The number of asteroids to be spawned.
-		int spawnCount = Greenfoot.getRandomNumber(4) + 4;
-		for (int i = 0; i < spawnCount; i++) {
-			// Add a new Asteroid with random damaging power to the reference
-			// list and;
-			asteroids.add(new Asteroid(Greenfoot.getRandomNumber(900) + 350,
-					1e10, 50));
-			// This most recent addition must be the final element and have
-			// index size-1 because the references are trimmed down to clear
-			// off all empty spaces every act() iteration. Thus the most
-			// recent addition must have expanded the size.
-			// Now add it to the world.
-			// The initial velocity is a random direction in a full circle.
-			asteroids.get(asteroids.size() - 1).setVelocity(
-					new Vector(Greenfoot.getRandomNumber(5) + 1, Greenfoot
-							.getRandomNumber(360), false));
-			// Add it.
-			addObject(asteroids.get(asteroids.size() - 1), x, y);
+	public <T extends Actor> T spawn(Class<T> type, Planet owner, int x, int y) {
+		T a = getSpawnFactory(type).create(owner);
+		addObject(a, x, y);
+		return a;
+	}
+
+	/**
+	 * Spawns several Actors of the same kind, looking up their factory only
+	 * once.
+	 * 
+	 * @param type
+	 *            The Class of the Actors.
+	 * @param owner
+	 *            The Planet spawning them; null if none.
+	 * @param count
+	 *            The number of Actors to spawn.
+	 * @param positions
+	 *            The spawn points, as x and y pairs. They are used in turn and
+	 *            wrap around, so a single pair spawns every Actor at one point.
+	 *            Must hold at least one pair if any Actors are spawned.
+	 * @param out
+	 *            The list the Actors spawned are added to; null if not needed.
+	 */
+	public <T extends Actor> void spawnMany(Class<T> type, Planet owner,
+			int count, int[] positions, List<? super T> out) {
+		SpawnFactory<T> factory = getSpawnFactory(type);
+		int points = positions.length / 2;
+		if (count > 0 && points == 0) {
+			throw new IllegalArgumentException("No spawn point given for "
+					+ type.getName() + ".");
+		}
+		for (int i = 0; i < count; i++) {
+			int p = i % points * 2;
+			T a = factory.create(owner);
+			addObject(a, positions[p], positions[p + 1]);
+			if (out != null) {
+				out.add(a);
+			}
 		}
-		// Clearing empty spaces;
-		asteroids = (ArrayList<Asteroid>) Helper
-				.cleanReferences((ArrayList<? extends Actor>) asteroids);
 	}
 }
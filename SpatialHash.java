@@ -0,0 +1,282 @@
+import greenfoot.*;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SpatialHash is a broadphase for collision checks, sorting Actors into a
+ * uniform grid of square cells so that a query only looks at the few cells
+ * near it instead of every Actor in the World. It is rebuilt once per frame by
+ * the World before any Actor acts, and then serves every collision check made
+ * during that frame.
+ * <p>
+ * Each Actor is filed under the cell holding its centre, along with the
+ * radius of its CollisionShape, so that checking a candidate is a comparison
+ * of distances with no work on images. Queries widen their search by the
+ * largest radius filed, plus a margin for movement since the rebuild, and
+ * then test candidates against their current positions. Actors added after
+ * the rebuild are not found until the next frame, and Actors removed since
+ * are skipped.
+ * <p>
+ * Fast movers, which may travel further than their own size in one frame,
+ * are checked along the path they swept instead of only where they ended up.
+ * This keeps them from passing straight through small targets when time is
+ * sped up.
+ * <p>
+ * Cells are kept in a hash table rather than an array covering the World, as
+ * Actors may stray well beyond its edges.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class SpatialHash {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// Width of a cell, in pixels.
+	private int cellSize;
+	// First entry in each bucket of the table, or -1.
+	private int[] heads;
+	// Every entry; the Actor, its collision radius, the cell it is in, and
+	// the next entry in the same bucket.
+	private Actor[] actors;
+	private double[] radii;
+	private int[] cellX, cellY, next;
+	private int count;
+	// Greatest collision radius filed, rounded up.
+	private int reach;
+	// How far along a path each result of getAlongPath() was hit.
+	private double[] hitTimes;
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Distance, in pixels, that an Actor is allowed to have moved since the
+	// rebuild.
+	private static final int MOVE_MARGIN = 16;
+	// Number of buckets in the table. Must be a power of two.
+	private static final int BUCKETS = 1024;
+	// Initial number of entries.
+	private static final int INITIAL_ENTRIES = 256;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs an empty SpatialHash.
+	 *
+	 * @param cellSize
+	 *            The width of a cell, in pixels. Corrected to at least 1.
+	 */
+	public SpatialHash(int cellSize) {
+		this.cellSize = Math.max(1, cellSize);
+		heads = new int[BUCKETS];
+		actors = new Actor[INITIAL_ENTRIES];
+		radii = new double[INITIAL_ENTRIES];
+		cellX = new int[INITIAL_ENTRIES];
+		cellY = new int[INITIAL_ENTRIES];
+		next = new int[INITIAL_ENTRIES];
+		hitTimes = new double[INITIAL_ENTRIES];
+		clear();
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Removes every Actor.
+	 */
+	public void clear() {
+		Arrays.fill(heads, -1);
+		Arrays.fill(actors, 0, count, null);
+		count = 0;
+		reach = 0;
+	}
+
+	/**
+	 * Files every Actor in a list under the cell of its current position.
+	 *
+	 * @param list
+	 *            The Actors to be added. All must be in a World.
+	 */
+	public void addAll(List<? extends Actor> list) {
+		for (int i = 0; i < list.size(); i++) {
+			add(list.get(i));
+		}
+	}
+
+	/**
+	 * Files an Actor under the cell of its current position.
+	 *
+	 * @param a
+	 *            The Actor to be added. Must be in a World.
+	 */
+	public void add(Actor a) {
+		if (count == actors.length) {
+			int size = count * 2;
+			actors = Arrays.copyOf(actors, size);
+			radii = Arrays.copyOf(radii, size);
+			cellX = Arrays.copyOf(cellX, size);
+			cellY = Arrays.copyOf(cellY, size);
+			next = Arrays.copyOf(next, size);
+		}
+		int cx = cell(a.getX());
+		int cy = cell(a.getY());
+		int b = bucket(cx, cy);
+		double r = CollisionShape.getRadius(a);
+		actors[count] = a;
+		radii[count] = r;
+		cellX[count] = cx;
+		cellY[count] = cy;
+		next[count] = heads[b];
+		heads[b] = count;
+		count++;
+		reach = Math.max(reach, (int) Math.ceil(r));
+	}
+
+	/**
+	 * Finds every Actor of a class touched by a circle moving along a line
+	 * segment, in the order they are touched. Each Actor found is treated as
+	 * a circle around its centre, which is either a point or its
+	 * CollisionShape.
+	 *
+	 * @param self
+	 *            An Actor to leave out of the results, or null.
+	 * @param x0
+	 *            The x-coordinate the circle started at.
+	 * @param y0
+	 *            The y-coordinate the circle started at.
+	 * @param x1
+	 *            The x-coordinate the circle ended at.
+	 * @param y1
+	 *            The y-coordinate the circle ended at.
+	 * @param radius
+	 *            The radius of the moving circle.
+	 * @param bounds
+	 *            True if each Actor's CollisionShape counts, or false if only
+	 *            its centre does.
+	 * @param cls
+	 *            The class of Actor to look for.
+	 * @param out
+	 *            A list which is cleared and then receives the results.
+	 * @return List The list given.
+	 */
+	public <T extends Actor> List<T> getAlongPath(Actor self, int x0, int y0,
+			int x1, int y1, double radius, boolean bounds, Class<T> cls,
+			List<T> out) {
+		out.clear();
+		int r = (int) Math.ceil(radius) + (bounds ? reach : 0) + MOVE_MARGIN;
+		int left = Math.min(x0, x1) - r, right = Math.max(x0, x1) + r;
+		int top = Math.min(y0, y1) - r, bottom = Math.max(y0, y1) + r;
+		for (int cy = cell(top); cy <= cell(bottom); cy++) {
+			for (int cx = cell(left); cx <= cell(right); cx++) {
+				for (int e = heads[bucket(cx, cy)]; e >= 0; e = next[e]) {
+					Actor a = actors[e];
+					if (cellX[e] != cx || cellY[e] != cy || a == self
+							|| !cls.isInstance(a) || a.getWorld() == null) {
+						continue;
+					}
+					double t = sweep(x0, y0, x1, y1, a.getX(), a.getY(),
+							radius + (bounds ? radii[e] : 0));
+					if (t >= 0) {
+						insertHit(out, cls.cast(a), t);
+					}
+				}
+			}
+		}
+		return out;
+	}
+
+	// PRIVATE METHODS------------------------------------------------------
+
+	/**
+	 * Calculates when a point moving along a line segment first comes within
+	 * a distance of another point.
+	 *
+	 * @param x0
+	 *            The x-coordinate the moving point starts at.
+	 * @param y0
+	 *            The y-coordinate the moving point starts at.
+	 * @param x1
+	 *            The x-coordinate the moving point ends at.
+	 * @param y1
+	 *            The y-coordinate the moving point ends at.
+	 * @param cx
+	 *            The x-coordinate of the fixed point.
+	 * @param cy
+	 *            The y-coordinate of the fixed point.
+	 * @param distance
+	 *            The distance.
+	 * @return double The fraction of the segment travelled at that moment,
+	 *         from 0 to 1, or -1 if it never happens.
+	 */
+	private static double sweep(double x0, double y0, double x1, double y1,
+			double cx, double cy, double distance) {
+		double fx = x0 - cx;
+		double fy = y0 - cy;
+		double c = fx * fx + fy * fy - distance * distance;
+		if (c <= 0) {
+			// Already touching at the start.
+			return 0;
+		}
+		double dx = x1 - x0;
+		double dy = y1 - y0;
+		double a = dx * dx + dy * dy;
+		double b = fx * dx + fy * dy;
+		if (a == 0 || b >= 0) {
+			// Standing still, or heading away.
+			return -1;
+		}
+		double disc = b * b - a * c;
+		if (disc < 0) {
+			return -1;
+		}
+		double t = (-b - Math.sqrt(disc)) / a;
+		return t <= 1 ? t : -1;
+	}
+
+	/**
+	 * Inserts a result of getAlongPath() into a list kept in order of when
+	 * each was hit.
+	 *
+	 * @param out
+	 *            The results so far.
+	 * @param a
+	 *            The Actor hit.
+	 * @param t
+	 *            How far along the path it was hit.
+	 */
+	private <T extends Actor> void insertHit(List<T> out, T a, double t) {
+		int n = out.size();
+		if (n == hitTimes.length) {
+			hitTimes = Arrays.copyOf(hitTimes, n * 2);
+		}
+		int i = n;
+		while (i > 0 && hitTimes[i - 1] > t) {
+			hitTimes[i] = hitTimes[i - 1];
+			i--;
+		}
+		hitTimes[i] = t;
+		out.add(i, a);
+	}
+
+	/**
+	 * Retrieves the cell a coordinate falls in.
+	 *
+	 * @param v
+	 *            The coordinate.
+	 * @return int The index of the cell along that axis.
+	 */
+	private int cell(int v) {
+		return (int) Math.floor((double) v / cellSize);
+	}
+
+	/**
+	 * Retrieves the bucket of the table a cell is kept in.
+	 *
+	 * @param cx
+	 *            The horizontal index of the cell.
+	 * @param cy
+	 *            The vertical index of the cell.
+	 * @return int The bucket.
+	 */
+	private static int bucket(int cx, int cy) {
+		return (cx * 73856093 ^ cy * 19349663) & (BUCKETS - 1);
+	}
+}
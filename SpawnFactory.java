@@ -0,0 +1,23 @@
+import greenfoot.*;
+
+/**
+ * SpawnFactory creates Actors of one kind for the World to spawn. The World
+ * keeps one for each kind it can spawn, bound once when it is constructed, so
+ * spawning never looks up a constructor or branches on the kind of Actor.
+ * A factory may create a new Actor or hand out one from a pool, as long as
+ * it is ready to be added to the world.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public interface SpawnFactory<T extends Actor> {
+
+	/**
+	 * Creates an Actor, not yet in any world.
+	 *
+	 * @param owner
+	 *            The Planet spawning it; null if none.
+	 * @return T The new Actor.
+	 */
+	public T create(Planet owner);
+}
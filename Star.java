@@ -35,6 +35,8 @@ public class Star extends CelestialBody {
 		attackPower = 100; // initialized to 100 for attacking power
 		radiusOfRadiation = 100; // initialize it to be 100
 		this.mass = mass; // The mass of the sun
+		setFixed(true); // the sun stays at the centre, so its gravity can be
+						// precomputed
 		setImage(new GreenfootImage("images/Sun.gif"));
 	}
 
@@ -67,10 +69,9 @@ public class Star extends CelestialBody {
 																// attack
 		for (CelestialBody c : cList) {
 			if (c instanceof Planet) {
-				((Planet) c).attack((long) attackPower); // attack different
-															// planets(fake
-															// method that is to
-															// be implemented)
+				((SolSystem) getWorld()).getCommands().damage(c,
+						attackPower); // attack different planets, once
+										// everything has acted
 			}
 		}
 	}
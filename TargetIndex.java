@@ -0,0 +1,28 @@
+import greenfoot.*;
+
+/**
+ * TargetIndex is anything that can find the nearest Actor of some kind to a
+ * point, leaving out those of one owner. Implemented by the World's targeting
+ * indices so that the Targeting service can work with any of them.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public interface TargetIndex<T extends Actor> {
+
+	/**
+	 * Finds the nearest Actor to a point within a range, leaving out those
+	 * with a given owner.
+	 *
+	 * @param x
+	 *            The x-coordinate of the point.
+	 * @param y
+	 *            The y-coordinate of the point.
+	 * @param maxRange
+	 *            The greatest distance to look.
+	 * @param excludeOwner
+	 *            The owner whose Actors are left out, or null for none.
+	 * @return T The nearest Actor, or null if there is none in range.
+	 */
+	public T nearest(double x, double y, double maxRange, Object excludeOwner);
+}
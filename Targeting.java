@@ -0,0 +1,102 @@
+import greenfoot.*;
+
+/**
+ * Targeting is a service which decides when a Ship should search for a new
+ * target, so that searches are not repeated every frame. A Ship keeps its
+ * target between searches, and only searches again on its own turn, which
+ * comes around every few frames. Each Ship's turn comes from its slot in the
+ * ShipStore, so consecutive slots fall on consecutive frames and Ships are
+ * spread evenly over the frames of a period; the number of searches per frame
+ * stays level no matter how many Ships there are. A target that has been removed from the World or has left
+ * range is replaced straight away, and a Ship may be made to search once out
+ * of turn when it is new; a Ship without a target otherwise waits for its
+ * turn. One instance should be owned by the World, which advances it every
+ * frame.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class Targeting {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// Number of frames between scheduled searches by the same Ship.
+	private int period;
+	// Frames elapsed.
+	private long tick;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs a Targeting service.
+	 *
+	 * @param period
+	 *            The number of frames between scheduled searches by each
+	 *            Ship. Corrected to at least 1.
+	 */
+	public Targeting(int period) {
+		this.period = Math.max(1, period);
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Advances to the next frame. Called by the World once per frame.
+	 */
+	public void tick() {
+		tick++;
+	}
+
+	/**
+	 * Retrieves the target a Ship should have this frame. Its current target
+	 * is kept unless it is gone, out of range, the search is forced, or it is
+	 * the Ship's turn to search again, in which case the nearest target not
+	 * belonging to the Ship's owner is found. The Ship's position and owner
+	 * are given directly, as read from a ShipStore.
+	 *
+	 * @param slot
+	 *            The slot in the ShipStore of the Ship looking for a target.
+	 * @param x
+	 *            The x-coordinate of the Ship.
+	 * @param y
+	 *            The y-coordinate of the Ship.
+	 * @param owner
+	 *            The owner of the Ship, whose targets are left out.
+	 * @param current
+	 *            Its current target, or null if it has none.
+	 * @param index
+	 *            The index to search for a new target.
+	 * @param range
+	 *            The greatest distance of a target.
+	 * @param force
+	 *            True to search regardless of the Ship's turn, such as for a
+	 *            Ship which has never searched.
+	 * @return T The target, or null if there is none.
+	 */
+	public <T extends Actor> T retarget(int slot, double x, double y,
+			Object owner, T current, TargetIndex<T> index, double range,
+			boolean force) {
+		boolean lost = current != null
+				&& (current.getWorld() == null || Math.hypot(current.getX()
+						- x, current.getY() - y) > range);
+		if (force || lost || isTurn(slot)) {
+			return index.nearest(x, y, range, owner);
+		}
+		return current;
+	}
+
+	// PRIVATE METHODS------------------------------------------------------
+
+	/**
+	 * Checks if it is a Ship's turn to search this frame. Each slot is given
+	 * a frame of the period in turn, so as many Ships search on each frame,
+	 * give or take one.
+	 *
+	 * @param slot
+	 *            The slot of the Ship in the ShipStore.
+	 * @return boolean True if the Ship should search this frame.
+	 */
+	private boolean isTurn(int slot) {
+		return (tick + slot) % period == 0;
+	}
+}
@@ -0,0 +1,79 @@
+/**
+ * TargetingSystem decides what every Ship in a ShipStore is after this
+ * frame, in one loop over the store. Destroyers look for enemy Destroyers,
+ * then Satellites, then Planets, and aim at the first kind found. Satellites
+ * look only for enemy Destroyers, and Probes look for nothing. Each search
+ * goes through the World's Targeting service, so targets are kept between
+ * scheduled searches. A Ship which has never searched does so on its first
+ * frame rather than waiting for its turn.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class TargetingSystem {
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Search ranges, in pixels.
+	private static final double DESTROYER_PLANET_RANGE = 1500;
+	private static final double DESTROYER_SHIP_RANGE = 50;
+	private static final double DESTROYER_SATELLITE_RANGE = 300;
+	private static final double SATELLITE_RANGE = 150;
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Updates the targets and aim of every Ship. Called by the World once per
+	 * frame, after its indices have been rebuilt.
+	 *
+	 * @param ships
+	 *            The Ships.
+	 * @param world
+	 *            The World holding them.
+	 */
+	public void run(ShipStore ships, SolSystem world) {
+		Targeting targeting = world.getTargeting();
+		int n = ships.size();
+		for (int i = 0; i < n; i++) {
+			Planet owner = ships.getOwner(ships.owner[i]);
+			double x = ships.x[i];
+			double y = ships.y[i];
+			boolean first = !ships.searched[i];
+			switch (ships.type[i]) {
+			case ShipStore.TYPE_DESTROYER:
+				ships.nearestPlanet[i] = targeting.retarget(i, x, y, owner,
+						ships.nearestPlanet[i], world.getPlanetIndex(),
+						DESTROYER_PLANET_RANGE, first);
+				ships.nearestDestroyer[i] = targeting.retarget(i, x, y, owner,
+						ships.nearestDestroyer[i], world.getDestroyerIndex(),
+						DESTROYER_SHIP_RANGE, first);
+				ships.nearestSatellite[i] = targeting.retarget(i, x, y, owner,
+						ships.nearestSatellite[i], world.getSatelliteIndex(),
+						DESTROYER_SATELLITE_RANGE, first);
+				// Ships come first; a Planet is only chased if there are none.
+				if (ships.nearestDestroyer[i] != null) {
+					ships.aim[i] = ships.nearestDestroyer[i];
+				} else if (ships.nearestSatellite[i] != null) {
+					ships.aim[i] = ships.nearestSatellite[i];
+				} else {
+					ships.aim[i] = ships.nearestPlanet[i];
+				}
+				ships.approach[i] = ships.aim[i] != null
+						&& ships.aim[i] == ships.nearestPlanet[i];
+				break;
+			case ShipStore.TYPE_SATELLITE:
+				ships.nearestDestroyer[i] = targeting.retarget(i, x, y, owner,
+						ships.nearestDestroyer[i], world.getDestroyerIndex(),
+						SATELLITE_RANGE, first);
+				ships.aim[i] = ships.nearestDestroyer[i];
+				ships.approach[i] = false;
+				break;
+			default:
+				ships.aim[i] = null;
+				ships.approach[i] = false;
+				break;
+			}
+			ships.searched[i] = true;
+		}
+	}
+}
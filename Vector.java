@@ -2,13 +2,20 @@ import greenfoot.*; // (World, Actor, GreenfootImage, Greenfoot and MouseInfo)
 
 /**
  * Littile tweaks from the Java Vector class to tailor my needs
- * 
+ *
+ * The vector is stored in cartesian form. The polar form (magnitude and
+ * direction) is only worked out when someone asks for it, so adding and
+ * setting components never costs a square root or an arc tangent
+ *
  * @author Gaven Ma and Mike Zhao
- * @version 1.02
+ * @version 1.03
  */
 public class Vector {
 	private double dx, dy;
 	private double magnitude, direction;
+	private boolean magnitudeCurrent, directionCurrent; // whether the polar
+														// form matches the
+														// cartesian form
 
 	/**
 	 * Creates a vector with magnitude 0
@@ -18,6 +25,8 @@ public class Vector {
 		this.dy = 0;
 		this.magnitude = 0;
 		this.direction = 0;
+		this.magnitudeCurrent = true;
+		this.directionCurrent = true;
 	}
 
 	/**
@@ -28,9 +37,7 @@ public class Vector {
 	 */
 	public Vector(double first, double second, boolean cartesian) {
 		if (cartesian) {
-			this.dx = first;
-			this.dy = second;
-			this.updatePolar();
+			this.set(first, second);
 		} else {
 			this.magnitude = first;
 			this.direction = second;
@@ -40,64 +47,104 @@ public class Vector {
 
 	// resets the vector to 0 magnitude
 	public void reset() {
+		this.dx = 0;
+		this.dy = 0;
 		this.magnitude = 0;
 		this.direction = 0;
-		this.updateCartesian();
+		this.magnitudeCurrent = true;
+		this.directionCurrent = true;
 	}
 
+	// works out the cartesian form from the polar form
 	public void updateCartesian() {
-		this.dx = this.magnitude * Math.cos(Math.toRadians(this.direction));
-		this.dy = this.magnitude * Math.sin(Math.toRadians(this.direction));
+		double radians = Math.toRadians(this.direction);
+		this.dx = this.magnitude * Math.cos(radians);
+		this.dy = this.magnitude * Math.sin(radians);
+		this.magnitudeCurrent = true;
+		this.directionCurrent = true;
 	}
 
+	// works out the polar form from the cartesian form
 	public void updatePolar() {
 		this.magnitude = Math.sqrt(this.dx * this.dx + this.dy * this.dy);
 		this.direction = Math.toDegrees(Math.atan2(this.dy, this.dx));
-		if (this.magnitude < 0) {
-			this.direction = this.direction + 180;
-			if (this.direction >= 360)
-				this.direction = this.direction - 360;
-			this.magnitude = -this.magnitude;
-		}
+		this.magnitudeCurrent = true;
+		this.directionCurrent = true;
+	}
+
+	// sets both cartesian components at once
+	public void set(double dx, double dy) {
+		this.dx = dx;
+		this.dy = dy;
+		this.magnitudeCurrent = false;
+		this.directionCurrent = false;
 	}
 
 	public void add(Vector vector) {
-		this.dx = this.dx + vector.getX();
-		this.dy = this.dy + vector.getY();
-		this.updatePolar();
+		this.set(this.dx + vector.dx, this.dy + vector.dy);
+	}
+
+	// adds another vector multiplied by a scale, in place
+	public void addScaled(Vector vector, double scale) {
+		this.set(this.dx + vector.dx * scale, this.dy + vector.dy * scale);
+	}
+
+	// adds the given components multiplied by a scale, in place
+	public void addScaled(double dx, double dy, double scale) {
+		this.set(this.dx + dx * scale, this.dy + dy * scale);
+	}
+
+	// multiplies the vector by a scale, in place
+	public void scale(double scale) {
+		this.dx = this.dx * scale;
+		this.dy = this.dy * scale;
+		if (scale >= 0) {
+			this.magnitude = this.magnitude * scale; // direction is unchanged
+		} else {
+			this.magnitudeCurrent = false;
+			this.directionCurrent = false;
+		}
 	}
 
 	public static Vector add(Vector v1, Vector v2) {
-		return new Vector(v1.getX() + v2.getX(), v1.getY() + v2.getY(), true);
+		return new Vector(v1.dx + v2.dx, v1.dy + v2.dy, true);
 	}
 
 	public static double dotProduct(Vector v1, Vector v2) {
-		return (v1.getMagnitude() * v2.getMagnitude() * Math.cos(Math
-				.toRadians(v1.getDirection() - v2.getDirection())));
+		return v1.dx * v2.dx + v1.dy * v2.dy;
 	}
 
 	public void reverseDirection() {
-		this.dx = -this.dx;
-		this.dy = -this.dy;
-		this.updatePolar();
+		this.set(-this.dx, -this.dy);
 	}
 
 	public void setX(double x) {
-		this.dx = x;
-		this.updatePolar();
+		this.set(x, this.dy);
 	}
 
 	public void setY(double y) {
-		this.dy = y;
-		this.updatePolar();
+		this.set(this.dx, y);
 	}
 
 	public void setMagnitude(double m) {
-		this.magnitude = m;
-		this.updateCartesian();
+		double current = this.getMagnitude();
+		if (current != 0) {
+			// keep the direction by scaling the components, which needs no
+			// trigonometry
+			double scale = m / current;
+			this.dx = this.dx * scale;
+			this.dy = this.dy * scale;
+			this.magnitude = m;
+		} else {
+			// a zero vector has no direction of its own, so use the last one
+			this.direction = this.getDirection();
+			this.magnitude = m;
+			this.updateCartesian();
+		}
 	}
 
 	public void setDirection(double d) {
+		this.magnitude = this.getMagnitude();
 		this.direction = d;
 		this.updateCartesian();
 	}
@@ -111,10 +158,18 @@ public class Vector {
 	}
 
 	public double getMagnitude() {
+		if (!this.magnitudeCurrent) {
+			this.magnitude = Math.sqrt(this.dx * this.dx + this.dy * this.dy);
+			this.magnitudeCurrent = true;
+		}
 		return this.magnitude;
 	}
 
 	public double getDirection() {
+		if (!this.directionCurrent) {
+			this.direction = Math.toDegrees(Math.atan2(this.dy, this.dx));
+			this.directionCurrent = true;
+		}
 		return this.direction;
 	}
 
@@ -0,0 +1,38 @@
+/**
+ * VerletIntegrator is a velocity-Verlet Integrator. Every sub-step gives each
+ * free body half a kick of velocity from the current acceleration, drifts it
+ * by the new velocity, recalculates gravity at the new positions and gives it
+ * the second half kick. The method is symplectic and time-reversible, so
+ * orbital energy does not drift away over time even with large steps.
+ * <p>
+ * Gravity is calculated once at the start of each frame and then once per
+ * sub-step, as the end of one sub-step provides the start of the next.
+ * 
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class VerletIntegrator implements Integrator {
+
+	/**
+	 * Advances every free body in the store by one frame.
+	 * 
+	 * @param store
+	 *            The store of bodies.
+	 * @param gravity
+	 *            The gravity solver.
+	 * @param dt
+	 *            The length of the frame.
+	 * @param steps
+	 *            The number of sub-steps. At least 1.
+	 */
+	public void advance(BodyStore store, Gravity gravity, double dt, int steps) {
+		double h = dt / steps;
+		gravity.apply(store);
+		for (int s = 0; s < steps; s++) {
+			store.kick(h / 2);
+			store.drift(h);
+			gravity.apply(store);
+			store.kick(h / 2);
+		}
+	}
+}
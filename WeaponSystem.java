@@ -0,0 +1,157 @@
+/**
+ * WeaponSystem runs the cooldowns of every Ship in a ShipStore and fires
+ * for those ready, in one loop over the store. Reload rates depend on the
+ * civilization stage of each Ship's owner, which is read once per owner
+ * rather than once per Ship. Destroyers of an advanced civilization are also
+ * repaired here, on their own timer.
+ * <p>
+ * Ships fire at whatever they are aiming at, except that Destroyers
+ * approaching a Planet hold fire until they are in range of it. Missiles are
+ * taken from the World's pool.
+ *
+ * @author agent
+ * @version Oct. 16, 2026
+ */
+public class WeaponSystem {
+
+	// INSTANCE VARIABLES---------------------------------------------------
+
+	// Civilization stage of each owner this frame, by owner id.
+	private int[] stages;
+
+	// CONSTANTS------------------------------------------------------------
+
+	// Reload progress gained each frame by Destroyers, and by Satellites
+	// before and after upgrading.
+	private static final int DESTROYER_RELOAD = 4;
+	private static final int SATELLITE_RELOAD = 2;
+	private static final int SATELLITE_UPGRADED_RELOAD = 4;
+	// Civilization stage at which Ships are upgraded.
+	private static final int UPGRADE_STAGE = 3;
+	// Distance, in pixels, within which a Destroyer fires on a Planet.
+	private static final double PLANET_FIRING_RANGE = 115;
+	// Frames between the small repairs of upgraded Destroyers.
+	private static final int HEAL_PERIOD = 250;
+
+	// CONSTRUCTOR----------------------------------------------------------
+
+	/**
+	 * Constructs a WeaponSystem.
+	 */
+	public WeaponSystem() {
+		stages = new int[0];
+	}
+
+	// INTERFACE------------------------------------------------------------
+
+	/**
+	 * Advances every cooldown and fires for the Ships that are ready.
+	 * Called by the World once per frame, after the MovementSystem.
+	 *
+	 * @param ships
+	 *            The Ships.
+	 * @param world
+	 *            The World holding them, which missiles are added to.
+	 */
+	public void run(ShipStore ships, SolSystem world) {
+		readStages(ships);
+		int n = ships.size();
+		for (int i = 0; i < n; i++) {
+			boolean upgraded = stages[ships.owner[i]] >= UPGRADE_STAGE;
+			switch (ships.type[i]) {
+			case ShipStore.TYPE_DESTROYER:
+				ships.healTimer[i]++;
+				if (upgraded) {
+					repair(ships, i);
+				}
+				ships.reloadRate[i] = DESTROYER_RELOAD;
+				break;
+			case ShipStore.TYPE_SATELLITE:
+				ships.reloadRate[i] = upgraded ? SATELLITE_UPGRADED_RELOAD
+						: SATELLITE_RELOAD;
+				break;
+			default:
+				ships.reloadRate[i] = 0;
+				break;
+			}
+			ships.cooldown[i] += ships.reloadRate[i];
+			if (ships.cooldown[i] >= ShipStore.RELOAD && canFire(ships, i)) {
+				fire(ships, i, world);
+			}
+		}
+	}
+
+	// PRIVATE METHODS------------------------------------------------------
+
+	/**
+	 * Reads the civilization stage of every owner.
+	 *
+	 * @param ships
+	 *            The Ships, which know their owners.
+	 */
+	private void readStages(ShipStore ships) {
+		int owners = ships.getOwnerCount();
+		if (stages.length < owners) {
+			stages = new int[owners];
+		}
+		for (int o = 0; o < owners; o++) {
+			stages[o] = ships.getOwner(o).getCivStage();
+		}
+	}
+
+	/**
+	 * Restores an upgraded Destroyer to full health, with a further point
+	 * every HEAL_PERIOD frames.
+	 *
+	 * @param ships
+	 *            The Ships.
+	 * @param i
+	 *            The handle of the Destroyer.
+	 */
+	private void repair(ShipStore ships, int i) {
+		if (ships.hp[i] < ships.maxHp[i]) {
+			ships.get(i).changeHealth(ships.maxHp[i]);
+		}
+		if (ships.healTimer[i] >= HEAL_PERIOD) {
+			ships.get(i).changeHealth(1);
+			ships.healTimer[i] = 0;
+		}
+	}
+
+	/**
+	 * Checks if a Ship has something to fire at.
+	 *
+	 * @param ships
+	 *            The Ships.
+	 * @param i
+	 *            The handle of the Ship.
+	 * @return boolean True if it should fire once reloaded.
+	 */
+	private boolean canFire(ShipStore ships, int i) {
+		if (ships.aim[i] == null) {
+			return false;
+		}
+		if (!ships.approach[i]) {
+			return true;
+		}
+		return Math.hypot(ships.aim[i].getX() - ships.x[i],
+				ships.aim[i].getY() - ships.y[i]) <= PLANET_FIRING_RANGE;
+	}
+
+	/**
+	 * Fires a Missile from a Ship along its heading.
+	 *
+	 * @param ships
+	 *            The Ships.
+	 * @param i
+	 *            The handle of the Ship.
+	 * @param world
+	 *            The World the Missile is added to.
+	 */
+	private void fire(ShipStore ships, int i, SolSystem world) {
+		Missile m = world.getMissilePool().acquire();
+		m.reset((int) ships.heading[i], ships.getOwner(ships.owner[i]));
+		world.addObject(m, (int) ships.x[i], (int) ships.y[i]);
+		ships.cooldown[i] = 0;
+	}
+}